@@ -0,0 +1,498 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Conjunto ordenado de cadenas implementado como un árbol de estadísticas de orden: un treap (árbol binario de búsqueda balanceado con prioridades
+ * aleatorias) donde cada nodo conoce el tamaño de su subárbol.
+ *
+ * Gracias a los tamaños, además de las operaciones de un TreeSet (que cuestan O(log n) esperado), el árbol responde en O(log n) la posición de una cadena
+ * en el orden (rango), la cadena que está en una posición (kesima) y la cantidad de cadenas de un rango, incluyendo el tamaño de las vistas subSet, headSet y
+ * tailSet.
+ */
+public class ArbolEstadistico extends ConjuntoOrdenado
+{
+    private static final class Nodo
+    {
+        private final String valor;
+
+        private final int prioridad;
+
+        private int tamanio;
+
+        private Nodo izquierdo;
+
+        private Nodo derecho;
+
+        private Nodo( String valor, int prioridad )
+        {
+            this.valor = valor;
+            this.prioridad = prioridad;
+            this.tamanio = 1;
+        }
+    }
+
+    private Nodo raiz;
+
+    /**
+     * Estado del generador de prioridades (xorshift)
+     */
+    private int semilla;
+
+    /**
+     * Cantidad de modificaciones, para que los iteradores detecten cambios concurrentes
+     */
+    private int modificaciones;
+
+    /**
+     * Crea un árbol vacío
+     */
+    public ArbolEstadistico( )
+    {
+        semilla = ( int )System.nanoTime( ) | 1;
+    }
+
+    /**
+     * Crea un árbol con las cadenas de la colección
+     * @param cadenas Las cadenas que se van a agregar
+     */
+    public ArbolEstadistico( Iterable<String> cadenas )
+    {
+        this( );
+        for( String cadena : cadenas )
+        {
+            add( cadena );
+        }
+    }
+
+    private int siguientePrioridad( )
+    {
+        semilla ^= semilla << 13;
+        semilla ^= semilla >>> 17;
+        semilla ^= semilla << 5;
+        return semilla;
+    }
+
+    private static int tamanio( Nodo nodo )
+    {
+        return nodo == null ? 0 : nodo.tamanio;
+    }
+
+    private static Nodo actualizar( Nodo nodo )
+    {
+        nodo.tamanio = 1 + tamanio( nodo.izquierdo ) + tamanio( nodo.derecho );
+        return nodo;
+    }
+
+    private static Nodo rotarDerecha( Nodo nodo )
+    {
+        Nodo izquierdo = nodo.izquierdo;
+        nodo.izquierdo = izquierdo.derecho;
+        izquierdo.derecho = actualizar( nodo );
+        return actualizar( izquierdo );
+    }
+
+    private static Nodo rotarIzquierda( Nodo nodo )
+    {
+        Nodo derecho = nodo.derecho;
+        nodo.derecho = derecho.izquierdo;
+        derecho.izquierdo = actualizar( nodo );
+        return actualizar( derecho );
+    }
+
+    @Override
+    public int size( )
+    {
+        return tamanio( raiz );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return raiz == null;
+    }
+
+    private Nodo buscar( String cadena )
+    {
+        Nodo actual = raiz;
+        while( actual != null )
+        {
+            int comparacion = cadena.compareTo( actual.valor );
+            if( comparacion == 0 )
+                return actual;
+            actual = comparacion < 0 ? actual.izquierdo : actual.derecho;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        return o instanceof String && buscar( ( String )o ) != null;
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        if( cadena == null )
+            throw new NullPointerException( );
+        if( buscar( cadena ) != null )
+            return false;
+        raiz = insertar( raiz, new Nodo( cadena, siguientePrioridad( ) ) );
+        modificaciones++;
+        return true;
+    }
+
+    private static Nodo insertar( Nodo nodo, Nodo nuevo )
+    {
+        if( nodo == null )
+            return nuevo;
+        if( nuevo.valor.compareTo( nodo.valor ) < 0 )
+        {
+            nodo.izquierdo = insertar( nodo.izquierdo, nuevo );
+            if( nodo.izquierdo.prioridad > nodo.prioridad )
+                return rotarDerecha( nodo );
+        }
+        else
+        {
+            nodo.derecho = insertar( nodo.derecho, nuevo );
+            if( nodo.derecho.prioridad > nodo.prioridad )
+                return rotarIzquierda( nodo );
+        }
+        return actualizar( nodo );
+    }
+
+    @Override
+    public boolean remove( Object o )
+    {
+        if( !( o instanceof String ) || buscar( ( String )o ) == null )
+            return false;
+        raiz = eliminar( raiz, ( String )o );
+        modificaciones++;
+        return true;
+    }
+
+    private static Nodo eliminar( Nodo nodo, String cadena )
+    {
+        int comparacion = cadena.compareTo( nodo.valor );
+        if( comparacion == 0 )
+            return unir( nodo.izquierdo, nodo.derecho );
+        if( comparacion < 0 )
+            nodo.izquierdo = eliminar( nodo.izquierdo, cadena );
+        else
+            nodo.derecho = eliminar( nodo.derecho, cadena );
+        return actualizar( nodo );
+    }
+
+    /**
+     * Une dos subárboles, sabiendo que todas las cadenas del primero son menores que las del segundo
+     */
+    private static Nodo unir( Nodo menores, Nodo mayores )
+    {
+        if( menores == null )
+            return mayores;
+        if( mayores == null )
+            return menores;
+        if( menores.prioridad > mayores.prioridad )
+        {
+            menores.derecho = unir( menores.derecho, mayores );
+            return actualizar( menores );
+        }
+        mayores.izquierdo = unir( menores, mayores.izquierdo );
+        return actualizar( mayores );
+    }
+
+    @Override
+    public void clear( )
+    {
+        raiz = null;
+        modificaciones++;
+    }
+
+    @Override
+    public String primera( )
+    {
+        Nodo actual = raiz;
+        if( actual == null )
+            return null;
+        while( actual.izquierdo != null )
+            actual = actual.izquierdo;
+        return actual.valor;
+    }
+
+    @Override
+    public String ultima( )
+    {
+        Nodo actual = raiz;
+        if( actual == null )
+            return null;
+        while( actual.derecho != null )
+            actual = actual.derecho;
+        return actual.valor;
+    }
+
+    /**
+     * Busca la menor cadena mayor (o mayor o igual) a la dada
+     */
+    private String techo( String cadena, boolean inclusivo )
+    {
+        String mejor = null;
+        Nodo actual = raiz;
+        while( actual != null )
+        {
+            int comparacion = actual.valor.compareTo( cadena );
+            if( comparacion > 0 || ( comparacion == 0 && inclusivo ) )
+            {
+                mejor = actual.valor;
+                actual = actual.izquierdo;
+            }
+            else
+            {
+                actual = actual.derecho;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Busca la mayor cadena menor (o menor o igual) a la dada
+     */
+    private String piso( String cadena, boolean inclusivo )
+    {
+        String mejor = null;
+        Nodo actual = raiz;
+        while( actual != null )
+        {
+            int comparacion = actual.valor.compareTo( cadena );
+            if( comparacion < 0 || ( comparacion == 0 && inclusivo ) )
+            {
+                mejor = actual.valor;
+                actual = actual.derecho;
+            }
+            else
+            {
+                actual = actual.izquierdo;
+            }
+        }
+        return mejor;
+    }
+
+    @Override
+    public String ceiling( String cadena )
+    {
+        return techo( cadena, true );
+    }
+
+    @Override
+    public String higher( String cadena )
+    {
+        return techo( cadena, false );
+    }
+
+    @Override
+    public String floor( String cadena )
+    {
+        return piso( cadena, true );
+    }
+
+    @Override
+    public String lower( String cadena )
+    {
+        return piso( cadena, false );
+    }
+
+    /**
+     * Cuenta las cadenas menores (o menores o iguales) a la dada
+     */
+    private int contarMenores( String cadena, boolean inclusivo )
+    {
+        int cantidad = 0;
+        Nodo actual = raiz;
+        while( actual != null )
+        {
+            int comparacion = actual.valor.compareTo( cadena );
+            if( comparacion < 0 || ( comparacion == 0 && inclusivo ) )
+            {
+                cantidad += tamanio( actual.izquierdo ) + 1;
+                actual = actual.derecho;
+            }
+            else
+            {
+                actual = actual.izquierdo;
+            }
+        }
+        return cantidad;
+    }
+
+    @Override
+    public int rango( String cadena )
+    {
+        return contarMenores( cadena, false );
+    }
+
+    @Override
+    public String kesima( int k )
+    {
+        if( k < 0 || k >= size( ) )
+            throw new IndexOutOfBoundsException( "Posición: " + k + ", tamaño: " + size( ) );
+        Nodo actual = raiz;
+        while( true )
+        {
+            int izquierda = tamanio( actual.izquierdo );
+            if( k < izquierda )
+            {
+                actual = actual.izquierdo;
+            }
+            else if( k == izquierda )
+            {
+                return actual.valor;
+            }
+            else
+            {
+                k -= izquierda + 1;
+                actual = actual.derecho;
+            }
+        }
+    }
+
+    @Override
+    protected int contarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+    {
+        int antesDelFin = hasta == null ? size( ) : contarMenores( hasta, hastaInclusivo );
+        int antesDelInicio = desde == null ? 0 : contarMenores( desde, !desdeInclusivo );
+        return Math.max( 0, antesDelFin - antesDelInicio );
+    }
+
+    @Override
+    protected Iterator<String> iterarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo, boolean descendente )
+    {
+        return descendente ? new Recorrido( hasta, hastaInclusivo, desde, desdeInclusivo, true ) : new Recorrido( desde, desdeInclusivo, hasta, hastaInclusivo, false );
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return new Recorrido( null, false, null, false, false );
+    }
+
+    @Override
+    public Iterator<String> descendingIterator( )
+    {
+        return new Recorrido( null, false, null, false, true );
+    }
+
+    /**
+     * Recorrido en orden (o en orden inverso) de las cadenas de un rango, con una pila con el camino desde la raíz, así que cada paso cuesta O(1) amortizado.
+     *
+     * Los límites se expresan en el sentido del recorrido: el recorrido empieza en 'inicio' y termina en 'fin'.
+     */
+    private final class Recorrido implements Iterator<String>
+    {
+        private final String fin;
+
+        private final boolean finInclusivo;
+
+        private final boolean descendente;
+
+        private final Deque<Nodo> pila;
+
+        private String ultimo;
+
+        private int modificacionesEsperadas;
+
+        private Recorrido( String inicio, boolean inicioInclusivo, String fin, boolean finInclusivo, boolean descendente )
+        {
+            this.fin = fin;
+            this.finInclusivo = finInclusivo;
+            this.descendente = descendente;
+            this.pila = new ArrayDeque<Nodo>( );
+            this.modificacionesEsperadas = modificaciones;
+            ubicar( inicio, inicioInclusivo );
+        }
+
+        /**
+         * Compara dos cadenas en el sentido del recorrido
+         */
+        private int comparar( String a, String b )
+        {
+            return descendente ? b.compareTo( a ) : a.compareTo( b );
+        }
+
+        private Nodo primerHijo( Nodo nodo )
+        {
+            return descendente ? nodo.derecho : nodo.izquierdo;
+        }
+
+        private Nodo segundoHijo( Nodo nodo )
+        {
+            return descendente ? nodo.izquierdo : nodo.derecho;
+        }
+
+        /**
+         * Deja en la pila el camino hasta la primera cadena (en el sentido del recorrido) que está después del inicio
+         */
+        private void ubicar( String inicio, boolean inclusivo )
+        {
+            pila.clear( );
+            Nodo actual = raiz;
+            while( actual != null )
+            {
+                int comparacion = inicio == null ? 1 : comparar( actual.valor, inicio );
+                if( comparacion > 0 || ( comparacion == 0 && inclusivo ) )
+                {
+                    pila.push( actual );
+                    actual = primerHijo( actual );
+                }
+                else
+                {
+                    actual = segundoHijo( actual );
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            if( pila.isEmpty( ) )
+                return false;
+            if( fin == null )
+                return true;
+            int comparacion = comparar( pila.peek( ).valor, fin );
+            return comparacion < 0 || ( comparacion == 0 && finInclusivo );
+        }
+
+        @Override
+        public String next( )
+        {
+            if( modificaciones != modificacionesEsperadas )
+                throw new ConcurrentModificationException( );
+            if( !hasNext( ) )
+                throw new NoSuchElementException( );
+            Nodo nodo = pila.pop( );
+            for( Nodo actual = segundoHijo( nodo ); actual != null; actual = primerHijo( actual ) )
+            {
+                pila.push( actual );
+            }
+            ultimo = nodo.valor;
+            return ultimo;
+        }
+
+        @Override
+        public void remove( )
+        {
+            if( ultimo == null )
+                throw new IllegalStateException( );
+            if( modificaciones != modificacionesEsperadas )
+                throw new ConcurrentModificationException( );
+            ArbolEstadistico.this.remove( ultimo );
+            modificacionesEsperadas = modificaciones;
+            // La eliminación puede haber cambiado la forma del árbol, así que se vuelve a ubicar el recorrido después de la cadena eliminada
+            ubicar( ultimo, false );
+            ultimo = null;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto ordenado de cadenas implementado como un árbol radix (un trie comprimido).
+ *
+ * Cada arco del árbol está etiquetado con un fragmento de cadena, y cada cadena del conjunto corresponde al camino desde la raíz hasta un nodo marcado como
+ * terminal. Las cadenas que comparten un prefijo comparten también los nodos de ese prefijo, así que el prefijo se almacena una sola vez. Esto hace que el
+ * árbol ocupe mucha menos memoria que un TreeSet cuando las cadenas tienen prefijos largos en común (como las URLs).
+ *
+ * Las búsquedas recorren la cadena una sola vez, comparando cada carácter una sola vez, en lugar de comparar la cadena completa en cada nivel. El orden es el
+ * mismo de String.compareTo.
+ */
+public class ArbolRadix extends ConjuntoOrdenado
+{
+    private static final Nodo[] SIN_HIJOS = new Nodo[0];
+
+    /**
+     * Un nodo del árbol. La etiqueta es el fragmento del arco que llega al nodo. Los hijos están ordenados por el primer carácter de su etiqueta, y dos hijos
+     * nunca empiezan por el mismo carácter.
+     *
+     * Salvo la raíz, todo nodo que no es terminal tiene al menos dos hijos.
+     */
+    private static final class Nodo
+    {
+        private char[] etiqueta;
+
+        private boolean terminal;
+
+        private Nodo[] hijos;
+
+        private Nodo( char[] etiqueta, boolean terminal, Nodo[] hijos )
+        {
+            this.etiqueta = etiqueta;
+            this.terminal = terminal;
+            this.hijos = hijos;
+        }
+    }
+
+    private final Nodo raiz;
+
+    private int cantidad;
+
+    /**
+     * Crea un árbol vacío
+     */
+    public ArbolRadix( )
+    {
+        raiz = new Nodo( new char[0], false, SIN_HIJOS );
+        cantidad = 0;
+    }
+
+    /**
+     * Crea un árbol con las cadenas de la colección
+     * @param cadenas Las cadenas que se van a agregar
+     */
+    public ArbolRadix( Iterable<String> cadenas )
+    {
+        this( );
+        for( String cadena : cadenas )
+        {
+            add( cadena );
+        }
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Busca el hijo cuya etiqueta empieza por el carácter dado
+     * @return La posición del hijo, o (-(posición de inserción) - 1) si no existe
+     */
+    private static int buscarHijo( Nodo nodo, char caracter )
+    {
+        int inicio = 0;
+        int fin = nodo.hijos.length - 1;
+        while( inicio <= fin )
+        {
+            int medio = ( inicio + fin ) >>> 1;
+            char c = nodo.hijos[ medio ].etiqueta[ 0 ];
+            if( c < caracter )
+                inicio = medio + 1;
+            else if( c > caracter )
+                fin = medio - 1;
+            else
+                return medio;
+        }
+        return -( inicio + 1 );
+    }
+
+    /**
+     * Retorna la longitud del prefijo común entre la etiqueta y la cadena a partir de la posición dada
+     */
+    private static int prefijoComun( char[] etiqueta, String cadena, int desde )
+    {
+        int limite = Math.min( etiqueta.length, cadena.length( ) - desde );
+        int i = 0;
+        while( i < limite && etiqueta[ i ] == cadena.charAt( desde + i ) )
+        {
+            i++;
+        }
+        return i;
+    }
+
+    private static Nodo[] insertarHijo( Nodo[] hijos, int posicion, Nodo hijo )
+    {
+        Nodo[] nuevos = new Nodo[hijos.length + 1];
+        System.arraycopy( hijos, 0, nuevos, 0, posicion );
+        nuevos[ posicion ] = hijo;
+        System.arraycopy( hijos, posicion, nuevos, posicion + 1, hijos.length - posicion );
+        return nuevos;
+    }
+
+    private static Nodo[] quitarHijo( Nodo[] hijos, int posicion )
+    {
+        if( hijos.length == 1 )
+            return SIN_HIJOS;
+        Nodo[] nuevos = new Nodo[hijos.length - 1];
+        System.arraycopy( hijos, 0, nuevos, 0, posicion );
+        System.arraycopy( hijos, posicion + 1, nuevos, posicion, hijos.length - posicion - 1 );
+        return nuevos;
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        if( ! ( o instanceof String ) )
+            return false;
+        String cadena = ( String )o;
+        Nodo nodo = raiz;
+        int i = 0;
+        while( i < cadena.length( ) )
+        {
+            int posicion = buscarHijo( nodo, cadena.charAt( i ) );
+            if( posicion < 0 )
+                return false;
+            Nodo hijo = nodo.hijos[ posicion ];
+            if( prefijoComun( hijo.etiqueta, cadena, i ) < hijo.etiqueta.length )
+                return false;
+            i += hijo.etiqueta.length;
+            nodo = hijo;
+        }
+        return nodo.terminal;
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        if( cadena == null )
+            throw new NullPointerException( );
+        Nodo nodo = raiz;
+        int i = 0;
+        while( i < cadena.length( ) )
+        {
+            int posicion = buscarHijo( nodo, cadena.charAt( i ) );
+            if( posicion < 0 )
+            {
+                Nodo hoja = new Nodo( cadena.substring( i ).toCharArray( ), true, SIN_HIJOS );
+                nodo.hijos = insertarHijo( nodo.hijos, -posicion - 1, hoja );
+                cantidad++;
+                return true;
+            }
+            Nodo hijo = nodo.hijos[ posicion ];
+            int comun = prefijoComun( hijo.etiqueta, cadena, i );
+            if( comun < hijo.etiqueta.length )
+            {
+                // La cadena se separa a mitad de la etiqueta: se parte el arco en dos
+                Nodo intermedio = new Nodo( Arrays.copyOf( hijo.etiqueta, comun ), false, new Nodo[]{ hijo } );
+                hijo.etiqueta = Arrays.copyOfRange( hijo.etiqueta, comun, hijo.etiqueta.length );
+                nodo.hijos[ posicion ] = intermedio;
+                if( i + comun == cadena.length( ) )
+                {
+                    intermedio.terminal = true;
+                }
+                else
+                {
+                    Nodo hoja = new Nodo( cadena.substring( i + comun ).toCharArray( ), true, SIN_HIJOS );
+                    int posicionHoja = hoja.etiqueta[ 0 ] < hijo.etiqueta[ 0 ] ? 0 : 1;
+                    intermedio.hijos = insertarHijo( intermedio.hijos, posicionHoja, hoja );
+                }
+                cantidad++;
+                return true;
+            }
+            i += comun;
+            nodo = hijo;
+        }
+        if( nodo.terminal )
+            return false;
+        nodo.terminal = true;
+        cantidad++;
+        return true;
+    }
+
+    @Override
+    public boolean remove( Object o )
+    {
+        if( ! ( o instanceof String ) )
+            return false;
+        if( eliminar( raiz, ( String )o, 0 ) )
+        {
+            cantidad--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Elimina la cadena del subárbol del nodo, donde el camino hasta el nodo corresponde a los primeros 'desde' caracteres de la cadena
+     */
+    private boolean eliminar( Nodo nodo, String cadena, int desde )
+    {
+        if( desde == cadena.length( ) )
+        {
+            if( !nodo.terminal )
+                return false;
+            nodo.terminal = false;
+            return true;
+        }
+        int posicion = buscarHijo( nodo, cadena.charAt( desde ) );
+        if( posicion < 0 )
+            return false;
+        Nodo hijo = nodo.hijos[ posicion ];
+        if( prefijoComun( hijo.etiqueta, cadena, desde ) < hijo.etiqueta.length )
+            return false;
+        if( !eliminar( hijo, cadena, desde + hijo.etiqueta.length ) )
+            return false;
+
+        // Se mantiene el árbol comprimido: sin nodos vacíos ni nodos no terminales con un solo hijo
+        if( !hijo.terminal )
+        {
+            if( hijo.hijos.length == 0 )
+            {
+                nodo.hijos = quitarHijo( nodo.hijos, posicion );
+            }
+            else if( hijo.hijos.length == 1 )
+            {
+                Nodo nieto = hijo.hijos[ 0 ];
+                char[] etiqueta = Arrays.copyOf( hijo.etiqueta, hijo.etiqueta.length + nieto.etiqueta.length );
+                System.arraycopy( nieto.etiqueta, 0, etiqueta, hijo.etiqueta.length, nieto.etiqueta.length );
+                nieto.etiqueta = etiqueta;
+                nodo.hijos[ posicion ] = nieto;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        raiz.hijos = SIN_HIJOS;
+        raiz.terminal = false;
+        cantidad = 0;
+    }
+
+    /**
+     * Retorna la menor cadena del subárbol del nodo, cuyo camino es el prefijo dado
+     */
+    private static String minimo( Nodo nodo, StringBuilder prefijo )
+    {
+        while( !nodo.terminal )
+        {
+            if( nodo.hijos.length == 0 )
+                return null;
+            nodo = nodo.hijos[ 0 ];
+            prefijo.append( nodo.etiqueta );
+        }
+        return prefijo.toString( );
+    }
+
+    /**
+     * Retorna la mayor cadena del subárbol del nodo, cuyo camino es el prefijo dado
+     */
+    private static String maximo( Nodo nodo, StringBuilder prefijo )
+    {
+        while( nodo.hijos.length > 0 )
+        {
+            nodo = nodo.hijos[ nodo.hijos.length - 1 ];
+            prefijo.append( nodo.etiqueta );
+        }
+        return nodo.terminal ? prefijo.toString( ) : null;
+    }
+
+    @Override
+    public String primera( )
+    {
+        return minimo( raiz, new StringBuilder( ) );
+    }
+
+    @Override
+    public String ultima( )
+    {
+        return maximo( raiz, new StringBuilder( ) );
+    }
+
+    @Override
+    public String ceiling( String cadena )
+    {
+        return techo( raiz, new StringBuilder( ), cadena, 0, true );
+    }
+
+    @Override
+    public String higher( String cadena )
+    {
+        return techo( raiz, new StringBuilder( ), cadena, 0, false );
+    }
+
+    @Override
+    public String floor( String cadena )
+    {
+        return piso( raiz, new StringBuilder( ), cadena, 0, true );
+    }
+
+    @Override
+    public String lower( String cadena )
+    {
+        return piso( raiz, new StringBuilder( ), cadena, 0, false );
+    }
+
+    /**
+     * Busca la menor cadena del subárbol que sea mayor (o igual, si es inclusivo) a la cadena dada. El camino hasta el nodo es el prefijo, que coincide con los
+     * primeros 'desde' caracteres de la cadena.
+     */
+    private static String techo( Nodo nodo, StringBuilder prefijo, String cadena, int desde, boolean inclusivo )
+    {
+        int largoPrefijo = prefijo.length( );
+        if( desde == cadena.length( ) )
+        {
+            // Todas las cadenas del subárbol, salvo la del nodo mismo, son extensiones de la cadena y por lo tanto mayores
+            if( inclusivo && nodo.terminal )
+                return prefijo.toString( );
+            return nodo.hijos.length == 0 ? null : minimo( nodo.hijos[ 0 ], prefijo.append( nodo.hijos[ 0 ].etiqueta ) );
+        }
+        char caracter = cadena.charAt( desde );
+        int posicion = buscarHijo( nodo, caracter );
+        int siguiente = posicion < 0 ? -posicion - 1 : posicion;
+        if( posicion >= 0 )
+        {
+            Nodo hijo = nodo.hijos[ posicion ];
+            int comun = prefijoComun( hijo.etiqueta, cadena, desde );
+            prefijo.append( hijo.etiqueta );
+            if( comun == hijo.etiqueta.length )
+            {
+                String resultado = techo( hijo, prefijo, cadena, desde + comun, inclusivo );
+                if( resultado != null )
+                    return resultado;
+            }
+            else if( desde + comun == cadena.length( ) || hijo.etiqueta[ comun ] > cadena.charAt( desde + comun ) )
+            {
+                // Todo el subárbol del hijo es mayor que la cadena
+                return minimo( hijo, prefijo );
+            }
+            prefijo.setLength( largoPrefijo );
+            siguiente = posicion + 1;
+        }
+        if( siguiente < nodo.hijos.length )
+        {
+            Nodo hijo = nodo.hijos[ siguiente ];
+            return minimo( hijo, prefijo.append( hijo.etiqueta ) );
+        }
+        return null;
+    }
+
+    /**
+     * Busca la mayor cadena del subárbol que sea menor (o igual, si es inclusivo) a la cadena dada. El camino hasta el nodo es el prefijo, que coincide con los
+     * primeros 'desde' caracteres de la cadena.
+     */
+    private static String piso( Nodo nodo, StringBuilder prefijo, String cadena, int desde, boolean inclusivo )
+    {
+        int largoPrefijo = prefijo.length( );
+        if( desde == cadena.length( ) )
+        {
+            // Las demás cadenas del subárbol son extensiones de la cadena y por lo tanto mayores
+            return inclusivo && nodo.terminal ? prefijo.toString( ) : null;
+        }
+        char caracter = cadena.charAt( desde );
+        int posicion = buscarHijo( nodo, caracter );
+        int anterior = posicion < 0 ? -posicion - 2 : posicion - 1;
+        if( posicion >= 0 )
+        {
+            Nodo hijo = nodo.hijos[ posicion ];
+            int comun = prefijoComun( hijo.etiqueta, cadena, desde );
+            prefijo.append( hijo.etiqueta );
+            if( comun == hijo.etiqueta.length )
+            {
+                String resultado = piso( hijo, prefijo, cadena, desde + comun, inclusivo );
+                if( resultado != null )
+                    return resultado;
+            }
+            else if( desde + comun < cadena.length( ) && hijo.etiqueta[ comun ] < cadena.charAt( desde + comun ) )
+            {
+                // Todo el subárbol del hijo es menor que la cadena
+                return maximo( hijo, prefijo );
+            }
+            prefijo.setLength( largoPrefijo );
+        }
+        if( anterior >= 0 )
+        {
+            Nodo hijo = nodo.hijos[ anterior ];
+            return maximo( hijo, prefijo.append( hijo.etiqueta ) );
+        }
+        // La cadena del nodo es un prefijo propio de la cadena buscada, así que es menor
+        return nodo.terminal ? prefijo.toString( ) : null;
+    }
+
+    /**
+     * Estima la memoria (en bytes) que ocupa el árbol, suponiendo una JVM de 64 bits con referencias comprimidas
+     * @return La cantidad aproximada de bytes que ocupa el árbol
+     */
+    public long getBytesEstimados( )
+    {
+        return estimarBytes( raiz );
+    }
+
+    private static long estimarBytes( Nodo nodo )
+    {
+        // Encabezado y campos del nodo, arreglo de la etiqueta y arreglo de hijos
+        long bytes = 24 + alinear( 16 + 2L * nodo.etiqueta.length ) + ( nodo.hijos.length == 0 ? 0 : alinear( 16 + 4L * nodo.hijos.length ) );
+        for( Nodo hijo : nodo.hijos )
+        {
+            bytes += estimarBytes( hijo );
+        }
+        return bytes;
+    }
+
+    /**
+     * Estima la memoria (en bytes) que ocuparía un TreeSet con las cadenas dadas, con las mismas suposiciones de getBytesEstimados
+     * @param cadenas Las cadenas del conjunto
+     * @return La cantidad aproximada de bytes que ocuparía el TreeSet
+     */
+    public static long estimarBytesTreeSet( Iterable<String> cadenas )
+    {
+        long bytes = 16 + 48;
+        for( String cadena : cadenas )
+        {
+            // Entrada del TreeMap, objeto String y su arreglo de caracteres
+            bytes += 40 + 24 + alinear( 16 + 2L * cadena.length( ) );
+        }
+        return bytes;
+    }
+
+    private static long alinear( long bytes )
+    {
+        return ( bytes + 7 ) & ~7L;
+    }
+}
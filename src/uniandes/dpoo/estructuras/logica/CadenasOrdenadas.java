@@ -0,0 +1,152 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * Conjunto inmutable de cadenas, ordenadas lexicográficamente y sin repetidos, guardadas en un arreglo.
+ *
+ * Sirve para cargar masivamente otros conjuntos: como es un SortedSet con el orden natural, TreeSet.addAll sobre un TreeSet vacío (y el constructor
+ * TreeSet(SortedSet)) lo recorre una sola vez y construye el árbol en O(n), sin comparaciones ni rebalanceos.
+ */
+final class CadenasOrdenadas extends AbstractSet<String> implements SortedSet<String>
+{
+    private final String[] cadenas;
+
+    private final int desde;
+
+    private final int hasta;
+
+    private CadenasOrdenadas( String[] cadenas, int desde, int hasta )
+    {
+        this.cadenas = cadenas;
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    /**
+     * Ordena las cadenas y elimina las repetidas. El arreglo se modifica y pasa a ser parte del conjunto.
+     *
+     * Si las cadenas ya están ordenadas no se ordenan de nuevo. Si no, se usa el ordenamiento de Arrays, que aprovecha los tramos que ya están en orden, en
+     * paralelo a partir de SandboxConjuntos.UMBRAL_PARALELO cadenas.
+     * @param cadenas Las cadenas, en cualquier orden y posiblemente repetidas. No pueden ser null.
+     * @return Un conjunto con las cadenas sin repetidos
+     */
+    static CadenasOrdenadas ordenar( String[] cadenas )
+    {
+        if( !estanOrdenadas( cadenas ) )
+        {
+            if( cadenas.length >= SandboxConjuntos.UMBRAL_PARALELO )
+                Arrays.parallelSort( cadenas );
+            else
+                Arrays.sort( cadenas );
+        }
+        int cantidad = 0;
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            if( cantidad == 0 || !cadenas[ i ].equals( cadenas[ cantidad - 1 ] ) )
+                cadenas[ cantidad++ ] = cadenas[ i ];
+        }
+        return new CadenasOrdenadas( cadenas, 0, cantidad );
+    }
+
+    private static boolean estanOrdenadas( String[] cadenas )
+    {
+        for( int i = 1; i < cadenas.length; i++ )
+        {
+            if( cadenas[ i - 1 ].compareTo( cadenas[ i ] ) > 0 )
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Comparator<? super String> comparator( )
+    {
+        return null;
+    }
+
+    @Override
+    public int size( )
+    {
+        return hasta - desde;
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        return o instanceof String && Arrays.binarySearch( cadenas, desde, hasta, o ) >= 0;
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return new Iterator<String>( )
+        {
+            private int siguiente = desde;
+
+            @Override
+            public boolean hasNext( )
+            {
+                return siguiente < hasta;
+            }
+
+            @Override
+            public String next( )
+            {
+                if( siguiente >= hasta )
+                    throw new NoSuchElementException( );
+                return cadenas[ siguiente++ ];
+            }
+        };
+    }
+
+    @Override
+    public String first( )
+    {
+        if( desde == hasta )
+            throw new NoSuchElementException( );
+        return cadenas[ desde ];
+    }
+
+    @Override
+    public String last( )
+    {
+        if( desde == hasta )
+            throw new NoSuchElementException( );
+        return cadenas[ hasta - 1 ];
+    }
+
+    /**
+     * Retorna la posición de la primera cadena mayor o igual a la dada
+     */
+    private int posicion( String cadena )
+    {
+        int i = Arrays.binarySearch( cadenas, desde, hasta, cadena );
+        return i >= 0 ? i : -i - 1;
+    }
+
+    @Override
+    public SortedSet<String> subSet( String inicio, String fin )
+    {
+        if( inicio.compareTo( fin ) > 0 )
+            throw new IllegalArgumentException( "inicio > fin" );
+        return new CadenasOrdenadas( cadenas, posicion( inicio ), posicion( fin ) );
+    }
+
+    @Override
+    public SortedSet<String> headSet( String fin )
+    {
+        return new CadenasOrdenadas( cadenas, desde, posicion( fin ) );
+    }
+
+    @Override
+    public SortedSet<String> tailSet( String inicio )
+    {
+        return new CadenasOrdenadas( cadenas, posicion( inicio ), hasta );
+    }
+}
@@ -0,0 +1,589 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * Conjunto ordenado de cadenas, que no se puede modificar, almacenado con codificación de prefijos (front coding).
+ *
+ * Como las cadenas están ordenadas, cada cadena suele compartir un prefijo largo con la anterior. Las cadenas se agrupan en bloques de tamaño fijo: la
+ * primera cadena de cada bloque (su cabeza) se guarda completa y cada una de las siguientes se guarda como la longitud del prefijo que comparte con la
+ * anterior más el resto de la cadena. Todo el conjunto ocupa un único arreglo de caracteres, sin un objeto por cadena, así que con cadenas que comparten
+ * prefijos (URLs, rutas, llaves compuestas) ocupa varias veces menos memoria que un TreeSet.
+ *
+ * Para buscar una cadena se hace una búsqueda binaria sobre las cabezas de los bloques (comparándolas directamente en el arreglo, sin construir cadenas) y
+ * luego se decodifica secuencialmente un solo bloque. Los recorridos decodifican las cadenas a medida que se piden.
+ *
+ * El conjunto se puede guardar en un archivo (escribir) y volver a abrir con abrir, que mapea el archivo en memoria en lugar de leerlo: abrir sólo lee las
+ * posiciones de los bloques, y cada consulta lee del archivo únicamente los bloques que necesita.
+ */
+public class ConjuntoComprimido extends ConjuntoOrdenado
+{
+    /**
+     * La cantidad de cadenas por bloque que se usa si no se indica otra
+     */
+    public static final int TAMANIO_BLOQUE_POR_DEFECTO = 32;
+
+    /**
+     * Las longitudes menores a este valor ocupan un carácter; las demás ocupan dos
+     */
+    private static final int LONGITUD_CORTA = 0x8000;
+
+    /**
+     * Los primeros bytes de los archivos de conjuntos comprimidos ("SBC1")
+     */
+    private static final int MAGIA = 0x53424331;
+
+    /**
+     * El tamaño en bytes del encabezado de los archivos: la marca y cinco enteros
+     */
+    private static final int TAMANIO_ENCABEZADO = 24;
+
+    private final int tamanioBloque;
+
+    /**
+     * Las cadenas codificadas. Cada cadena se guarda como la longitud del prefijo compartido con la anterior, la longitud del resto y los caracteres del
+     * resto. En las cabezas de los bloques el prefijo compartido es siempre 0.
+     *
+     * Si el conjunto se abrió desde un archivo, los caracteres están en el archivo mapeado en memoria y no en el heap.
+     */
+    private final CharBuffer datos;
+
+    /**
+     * La posición en datos donde empieza cada bloque
+     */
+    private final int[] inicios;
+
+    private final int cantidad;
+
+    /**
+     * La longitud de la cadena más larga, para reservar los espacios donde se decodifican las cadenas
+     */
+    private final int largoMaximo;
+
+    /**
+     * Crea un conjunto comprimido con las cadenas dadas, en bloques de TAMANIO_BLOQUE_POR_DEFECTO cadenas
+     * @param cadenas Las cadenas del conjunto. Pueden estar en cualquier orden y estar repetidas.
+     */
+    public ConjuntoComprimido( Collection<String> cadenas )
+    {
+        this( cadenas, TAMANIO_BLOQUE_POR_DEFECTO );
+    }
+
+    /**
+     * Crea un conjunto comprimido con las cadenas dadas.
+     *
+     * Los bloques más grandes ocupan menos memoria pero hacen más lentas las búsquedas, porque hay que decodificar más cadenas; entre 16 y 64 cadenas por
+     * bloque es un buen balance.
+     * @param cadenas Las cadenas del conjunto. Pueden estar en cualquier orden y estar repetidas.
+     * @param tamanioBloque La cantidad de cadenas de cada bloque
+     */
+    public ConjuntoComprimido( Collection<String> cadenas, int tamanioBloque )
+    {
+        if( tamanioBloque <= 0 )
+            throw new IllegalArgumentException( "El tamaño de los bloques debe ser mayor a 0: " + tamanioBloque );
+        this.tamanioBloque = tamanioBloque;
+
+        String[] ordenadas = cadenas.toArray( new String[cadenas.size( )] );
+        int total = ordenadas.length;
+        if( !( cadenas instanceof SortedSet && ( ( SortedSet<String> )cadenas ).comparator( ) == null ) )
+        {
+            CadenasOrdenadas sinRepetidos = CadenasOrdenadas.ordenar( ordenadas );
+            total = sinRepetidos.size( );
+        }
+        cantidad = total;
+        inicios = new int[( total + tamanioBloque - 1 ) / tamanioBloque];
+
+        char[] codificadas = new char[16];
+        int posicion = 0;
+        int maximo = 0;
+        String anterior = "";
+        for( int i = 0; i < total; i++ )
+        {
+            String cadena = ordenadas[ i ];
+            int compartido = 0;
+            if( i % tamanioBloque == 0 )
+            {
+                inicios[ i / tamanioBloque ] = posicion;
+            }
+            else
+            {
+                int limite = Math.min( anterior.length( ), cadena.length( ) );
+                while( compartido < limite && anterior.charAt( compartido ) == cadena.charAt( compartido ) )
+                    compartido++;
+            }
+            int resto = cadena.length( ) - compartido;
+            if( codificadas.length < posicion + 4 + resto )
+                codificadas = Arrays.copyOf( codificadas, Math.max( 2 * codificadas.length, posicion + 4 + resto ) );
+            posicion = escribirLongitud( codificadas, posicion, compartido );
+            posicion = escribirLongitud( codificadas, posicion, resto );
+            cadena.getChars( compartido, cadena.length( ), codificadas, posicion );
+            posicion += resto;
+            maximo = Math.max( maximo, cadena.length( ) );
+            anterior = cadena;
+        }
+        datos = CharBuffer.wrap( Arrays.copyOf( codificadas, posicion ) );
+        largoMaximo = maximo;
+    }
+
+    private ConjuntoComprimido( CharBuffer datos, int[] inicios, int cantidad, int tamanioBloque, int largoMaximo )
+    {
+        this.datos = datos;
+        this.inicios = inicios;
+        this.cantidad = cantidad;
+        this.tamanioBloque = tamanioBloque;
+        this.largoMaximo = largoMaximo;
+    }
+
+    /**
+     * Guarda el conjunto en un archivo, que luego se puede abrir con abrir. El archivo se escribe primero con otro nombre y luego se mueve, así que si la
+     * escritura falla no queda un archivo a medio escribir.
+     * @param archivo La ruta del archivo. Si ya existe, se reemplaza.
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    public void escribir( Path archivo ) throws IOException
+    {
+        Path temporal = archivo.resolveSibling( archivo.getFileName( ) + ".tmp" );
+        try( FileChannel canal = FileChannel.open( temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) )
+        {
+            ByteBuffer encabezado = ByteBuffer.allocate( TAMANIO_ENCABEZADO + 4 * inicios.length );
+            encabezado.putInt( MAGIA ).putInt( cantidad ).putInt( tamanioBloque ).putInt( largoMaximo ).putInt( inicios.length ).putInt( datos.limit( ) );
+            encabezado.asIntBuffer( ).put( inicios );
+            encabezado.clear( );
+            escribirTodo( canal, encabezado );
+
+            ByteBuffer bloque = ByteBuffer.allocate( 1 << 16 );
+            for( int i = 0; i < datos.limit( ); i++ )
+            {
+                if( bloque.remaining( ) < 2 )
+                {
+                    bloque.flip( );
+                    escribirTodo( canal, bloque );
+                    bloque.clear( );
+                }
+                bloque.putChar( datos.get( i ) );
+            }
+            bloque.flip( );
+            escribirTodo( canal, bloque );
+            canal.force( true );
+        }
+        Files.move( temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    private static void escribirTodo( FileChannel canal, ByteBuffer buffer ) throws IOException
+    {
+        while( buffer.hasRemaining( ) )
+            canal.write( buffer );
+    }
+
+    /**
+     * Abre un conjunto guardado con escribir, mapeando el archivo en memoria. Sólo se leen el encabezado y las posiciones de los bloques; las cadenas se
+     * leen del archivo a medida que las consultas las necesitan.
+     * 
+     * El archivo no debe modificarse mientras el conjunto esté abierto. El archivo puede ocupar como mucho 2GB.
+     * @param archivo La ruta del archivo
+     * @return El conjunto guardado en el archivo
+     * @throws IOException Si no se puede leer el archivo o no contiene un conjunto comprimido
+     */
+    public static ConjuntoComprimido abrir( Path archivo ) throws IOException
+    {
+        try( FileChannel canal = FileChannel.open( archivo, StandardOpenOption.READ ) )
+        {
+            long tamanio = canal.size( );
+            if( tamanio > Integer.MAX_VALUE )
+                throw new IOException( "El archivo es demasiado grande: " + archivo );
+            if( tamanio < TAMANIO_ENCABEZADO )
+                throw new IOException( "El archivo no contiene un conjunto comprimido: " + archivo );
+            // El mapeo sigue siendo válido después de cerrar el canal
+            MappedByteBuffer mapa = canal.map( FileChannel.MapMode.READ_ONLY, 0, tamanio );
+            if( mapa.getInt( ) != MAGIA )
+                throw new IOException( "El archivo no contiene un conjunto comprimido: " + archivo );
+            int cantidad = mapa.getInt( );
+            int tamanioBloque = mapa.getInt( );
+            int largoMaximo = mapa.getInt( );
+            int bloques = mapa.getInt( );
+            int largoDatos = mapa.getInt( );
+            if( cantidad < 0 || tamanioBloque <= 0 || bloques != ( cantidad + tamanioBloque - 1 ) / tamanioBloque
+                    || tamanio != TAMANIO_ENCABEZADO + 4L * bloques + 2L * largoDatos )
+                throw new IOException( "El archivo está dañado: " + archivo );
+            int[] inicios = new int[bloques];
+            mapa.asIntBuffer( ).get( inicios );
+            mapa.position( TAMANIO_ENCABEZADO + 4 * bloques );
+            return new ConjuntoComprimido( mapa.slice( ).asCharBuffer( ), inicios, cantidad, tamanioBloque, largoMaximo );
+        }
+    }
+
+    private static int escribirLongitud( char[] destino, int posicion, int longitud )
+    {
+        if( longitud < LONGITUD_CORTA )
+        {
+            destino[ posicion++ ] = ( char )longitud;
+        }
+        else
+        {
+            destino[ posicion++ ] = ( char ) ( LONGITUD_CORTA | ( longitud >>> 16 ) );
+            destino[ posicion++ ] = ( char )longitud;
+        }
+        return posicion;
+    }
+
+    /**
+     * Decodifica secuencialmente las cadenas de un bloque en adelante. Cada lector tiene su propio espacio, así que varios hilos pueden leer el conjunto a
+     * la vez.
+     */
+    private final class Lector
+    {
+        private final char[] actual = new char[largoMaximo];
+
+        private int largo;
+
+        private int posicion;
+
+        private Lector( int bloque )
+        {
+            posicion = inicios[ bloque ];
+        }
+
+        private int leerLongitud( )
+        {
+            int valor = datos.get( posicion++ );
+            if( valor >= LONGITUD_CORTA )
+                valor = ( ( valor & ( LONGITUD_CORTA - 1 ) ) << 16 ) | datos.get( posicion++ );
+            return valor;
+        }
+
+        /**
+         * Decodifica la siguiente cadena
+         */
+        private void avanzar( )
+        {
+            int compartido = leerLongitud( );
+            int resto = leerLongitud( );
+            largo = compartido + resto;
+            for( int i = compartido; i < largo; i++ )
+            {
+                actual[ i ] = datos.get( posicion++ );
+            }
+        }
+
+        private String cadena( )
+        {
+            return new String( actual, 0, largo );
+        }
+
+        /**
+         * Compara la última cadena decodificada con la dada, como String.compareTo
+         */
+        private int comparar( String cadena )
+        {
+            return ConjuntoComprimido.comparar( actual, 0, largo, cadena );
+        }
+    }
+
+    /**
+     * Compara los caracteres dados con la cadena, como String.compareTo
+     */
+    private static int comparar( char[] caracteres, int desde, int largo, String cadena )
+    {
+        int limite = Math.min( largo, cadena.length( ) );
+        for( int i = 0; i < limite; i++ )
+        {
+            char c = caracteres[ desde + i ];
+            char d = cadena.charAt( i );
+            if( c != d )
+                return c - d;
+        }
+        return largo - cadena.length( );
+    }
+
+    /**
+     * Compara la cabeza del bloque, directamente en los datos, con la cadena
+     */
+    private int compararCabeza( int bloque, String cadena )
+    {
+        int posicion = inicios[ bloque ] + 1;
+        int largo = datos.get( posicion++ );
+        if( largo >= LONGITUD_CORTA )
+            largo = ( ( largo & ( LONGITUD_CORTA - 1 ) ) << 16 ) | datos.get( posicion++ );
+        int limite = Math.min( largo, cadena.length( ) );
+        for( int i = 0; i < limite; i++ )
+        {
+            char c = datos.get( posicion + i );
+            char d = cadena.charAt( i );
+            if( c != d )
+                return c - d;
+        }
+        return largo - cadena.length( );
+    }
+
+    /**
+     * Cuenta las cadenas menores (o menores o iguales) a la dada
+     */
+    private int contarMenores( String cadena, boolean inclusivo )
+    {
+        // Se busca el último bloque cuya cabeza está antes de la cadena
+        int bajo = 0;
+        int alto = inicios.length - 1;
+        int bloque = -1;
+        while( bajo <= alto )
+        {
+            int medio = ( bajo + alto ) >>> 1;
+            int comparacion = compararCabeza( medio, cadena );
+            if( comparacion < 0 || ( comparacion == 0 && inclusivo ) )
+            {
+                bloque = medio;
+                bajo = medio + 1;
+            }
+            else
+            {
+                alto = medio - 1;
+            }
+        }
+        if( bloque == -1 )
+            return 0;
+        int primera = bloque * tamanioBloque;
+        int enBloque = Math.min( tamanioBloque, cantidad - primera );
+        Lector lector = new Lector( bloque );
+        int menores = 0;
+        while( menores < enBloque )
+        {
+            lector.avanzar( );
+            int comparacion = lector.comparar( cadena );
+            if( comparacion > 0 || ( comparacion == 0 && !inclusivo ) )
+                break;
+            menores++;
+        }
+        return primera + menores;
+    }
+
+    /**
+     * Retorna la cadena en la posición dada, o null si la posición está por fuera del conjunto
+     */
+    private String en( int k )
+    {
+        if( k < 0 || k >= cantidad )
+            return null;
+        Lector lector = new Lector( k / tamanioBloque );
+        for( int i = k % tamanioBloque; i >= 0; i-- )
+        {
+            lector.avanzar( );
+        }
+        return lector.cadena( );
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad;
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return cantidad == 0;
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        if( !( o instanceof String ) )
+            return false;
+        String cadena = ( String )o;
+        return cadena.equals( en( contarMenores( cadena, false ) ) );
+    }
+
+    @Override
+    public String primera( )
+    {
+        return en( 0 );
+    }
+
+    @Override
+    public String ultima( )
+    {
+        return en( cantidad - 1 );
+    }
+
+    @Override
+    public String ceiling( String cadena )
+    {
+        return en( contarMenores( cadena, false ) );
+    }
+
+    @Override
+    public String higher( String cadena )
+    {
+        return en( contarMenores( cadena, true ) );
+    }
+
+    @Override
+    public String floor( String cadena )
+    {
+        return en( contarMenores( cadena, true ) - 1 );
+    }
+
+    @Override
+    public String lower( String cadena )
+    {
+        return en( contarMenores( cadena, false ) - 1 );
+    }
+
+    @Override
+    public int rango( String cadena )
+    {
+        return contarMenores( cadena, false );
+    }
+
+    @Override
+    public String kesima( int k )
+    {
+        if( k < 0 || k >= cantidad )
+            throw new IndexOutOfBoundsException( "Posición: " + k + ", tamaño: " + cantidad );
+        return en( k );
+    }
+
+    @Override
+    protected int contarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+    {
+        int inicio = desde == null ? 0 : contarMenores( desde, !desdeInclusivo );
+        int fin = hasta == null ? cantidad : contarMenores( hasta, hastaInclusivo );
+        return Math.max( 0, fin - inicio );
+    }
+
+    @Override
+    protected Iterator<String> iterarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo, boolean descendente )
+    {
+        int inicio = desde == null ? 0 : contarMenores( desde, !desdeInclusivo );
+        int fin = Math.max( inicio, hasta == null ? cantidad : contarMenores( hasta, hastaInclusivo ) );
+        return descendente ? new RecorridoDescendente( inicio, fin ) : new Recorrido( inicio, fin );
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return new Recorrido( 0, cantidad );
+    }
+
+    @Override
+    public Iterator<String> descendingIterator( )
+    {
+        return new RecorridoDescendente( 0, cantidad );
+    }
+
+    /**
+     * Estima la memoria del heap (en bytes) que ocupa el conjunto, con las mismas suposiciones de ArbolRadix.getBytesEstimados. Si el conjunto se abrió
+     * desde un archivo, las cadenas están en el archivo mapeado y no se cuentan.
+     * @return La cantidad aproximada de bytes que ocupa el conjunto
+     */
+    public long getBytesEstimados( )
+    {
+        long bytesDatos = datos.hasArray( ) ? alinear( 16 + 2L * datos.limit( ) ) : 0;
+        return 48 + bytesDatos + alinear( 16 + 4L * inicios.length );
+    }
+
+    private static long alinear( long bytes )
+    {
+        return ( bytes + 7 ) & ~7L;
+    }
+
+    /**
+     * Recorrido ascendente de las cadenas en las posiciones [inicio, fin), decodificándolas a medida que se piden
+     */
+    private final class Recorrido implements Iterator<String>
+    {
+        private final int fin;
+
+        private int siguiente;
+
+        private Lector lector;
+
+        private Recorrido( int inicio, int fin )
+        {
+            this.siguiente = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return siguiente < fin;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( siguiente >= fin )
+                throw new NoSuchElementException( );
+            if( lector == null )
+            {
+                // La primera cadena puede estar en la mitad de un bloque, así que se decodifican las anteriores del mismo bloque
+                lector = new Lector( siguiente / tamanioBloque );
+                for( int i = siguiente % tamanioBloque; i > 0; i-- )
+                {
+                    lector.avanzar( );
+                }
+            }
+            lector.avanzar( );
+            siguiente++;
+            return lector.cadena( );
+        }
+    }
+
+    /**
+     * Recorrido descendente de las cadenas en las posiciones [inicio, fin). Como las cadenas sólo se pueden decodificar hacia adelante, se decodifica un
+     * bloque completo a la vez y se entregan sus cadenas de atrás hacia adelante.
+     */
+    private final class RecorridoDescendente implements Iterator<String>
+    {
+        private final int inicio;
+
+        private int siguiente;
+
+        private final String[] bloque = new String[tamanioBloque];
+
+        private int bloqueActual = -1;
+
+        private RecorridoDescendente( int inicio, int fin )
+        {
+            this.inicio = inicio;
+            this.siguiente = fin - 1;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return siguiente >= inicio;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( siguiente < inicio )
+                throw new NoSuchElementException( );
+            int numero = siguiente / tamanioBloque;
+            if( numero != bloqueActual )
+            {
+                Lector lector = new Lector( numero );
+                for( int i = 0; i <= siguiente % tamanioBloque; i++ )
+                {
+                    lector.avanzar( );
+                    bloque[ i ] = lector.cadena( );
+                }
+                bloqueActual = numero;
+            }
+            return bloque[ siguiente-- % tamanioBloque ];
+        }
+    }
+}
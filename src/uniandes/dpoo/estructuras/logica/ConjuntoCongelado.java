@@ -0,0 +1,255 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * Conjunto ordenado de cadenas que no se puede modificar, optimizado para consultas.
+ *
+ * Las cadenas se guardan en un arreglo ordenado (para recorrer rangos de forma secuencial) y, además, en un arreglo con la distribución de Eytzinger: el
+ * árbol binario de búsqueda implícito guardado por niveles, donde los hijos del elemento k están en 2k y 2k+1. En esa distribución los primeros pasos de
+ * todas las búsquedas tocan las mismas pocas posiciones al inicio del arreglo, que permanecen en caché, y cada paso sólo depende de una comparación, así que
+ * buscar es mucho más barato que seguir los apuntadores de un TreeSet.
+ *
+ * Todas las consultas (contains, ceiling, floor, higher, lower y el tamaño de los rangos) cuestan O(log n) sin apuntadores, y los recorridos, incluyendo los
+ * de las vistas, avanzan secuencialmente por el arreglo ordenado. Cualquier operación que intente modificar el conjunto lanza
+ * UnsupportedOperationException.
+ */
+public class ConjuntoCongelado extends ConjuntoOrdenado
+{
+    /**
+     * Las cadenas en orden lexicográfico
+     */
+    private final String[] ordenadas;
+
+    /**
+     * Las cadenas con la distribución de Eytzinger. La posición 0 no se usa.
+     */
+    private final String[] eytzinger;
+
+    /**
+     * Para cada posición del arreglo de Eytzinger, la posición de la misma cadena en el arreglo ordenado
+     */
+    private final int[] posiciones;
+
+    /**
+     * Crea un conjunto congelado con las cadenas dadas
+     * @param cadenas Las cadenas del conjunto. Pueden estar en cualquier orden y estar repetidas.
+     */
+    public ConjuntoCongelado( Collection<String> cadenas )
+    {
+        String[] arreglo = cadenas.toArray( new String[cadenas.size( )] );
+        if( cadenas instanceof SortedSet && ( ( SortedSet<String> )cadenas ).comparator( ) == null )
+        {
+            ordenadas = arreglo;
+        }
+        else
+        {
+            CadenasOrdenadas sinRepetidos = CadenasOrdenadas.ordenar( arreglo );
+            ordenadas = sinRepetidos.toArray( new String[sinRepetidos.size( )] );
+        }
+        eytzinger = new String[ordenadas.length + 1];
+        posiciones = new int[ordenadas.length + 1];
+        distribuir( 0, 1 );
+    }
+
+    /**
+     * Llena el subárbol de Eytzinger que empieza en la posición k con las cadenas ordenadas a partir de la posición i, en inorden
+     * @return La posición de la siguiente cadena ordenada que falta por ubicar
+     */
+    private int distribuir( int i, int k )
+    {
+        if( k <= ordenadas.length )
+        {
+            i = distribuir( i, 2 * k );
+            eytzinger[ k ] = ordenadas[ i ];
+            posiciones[ k ] = i;
+            i = distribuir( i + 1, 2 * k + 1 );
+        }
+        return i;
+    }
+
+    /**
+     * Busca la primera cadena mayor (o mayor o igual) a la dada
+     * @param cadena La cadena buscada
+     * @param inclusivo Indica si se acepta una cadena igual a la buscada
+     * @return La posición de esa cadena en el arreglo ordenado, o la cantidad de cadenas si no hay ninguna
+     */
+    private int buscar( String cadena, boolean inclusivo )
+    {
+        int k = 1;
+        int n = ordenadas.length;
+        while( k <= n )
+        {
+            int comparacion = eytzinger[ k ].compareTo( cadena );
+            k = 2 * k + ( comparacion < 0 || ( comparacion == 0 && !inclusivo ) ? 1 : 0 );
+        }
+        // Se deshacen los pasos a la derecha que se dieron después del último paso a la izquierda
+        k >>>= Integer.numberOfTrailingZeros( ~k ) + 1;
+        return k == 0 ? n : posiciones[ k ];
+    }
+
+    private String en( int i )
+    {
+        return i >= 0 && i < ordenadas.length ? ordenadas[ i ] : null;
+    }
+
+    @Override
+    public int size( )
+    {
+        return ordenadas.length;
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return ordenadas.length == 0;
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        if( !( o instanceof String ) )
+            return false;
+        String cadena = ( String )o;
+        return cadena.equals( en( buscar( cadena, true ) ) );
+    }
+
+    @Override
+    public String primera( )
+    {
+        return en( 0 );
+    }
+
+    @Override
+    public String ultima( )
+    {
+        return en( ordenadas.length - 1 );
+    }
+
+    @Override
+    public String ceiling( String cadena )
+    {
+        return en( buscar( cadena, true ) );
+    }
+
+    @Override
+    public String higher( String cadena )
+    {
+        return en( buscar( cadena, false ) );
+    }
+
+    @Override
+    public String floor( String cadena )
+    {
+        return en( buscar( cadena, false ) - 1 );
+    }
+
+    @Override
+    public String lower( String cadena )
+    {
+        return en( buscar( cadena, true ) - 1 );
+    }
+
+    @Override
+    public int rango( String cadena )
+    {
+        return buscar( cadena, true );
+    }
+
+    @Override
+    public String kesima( int k )
+    {
+        if( k < 0 || k >= ordenadas.length )
+            throw new IndexOutOfBoundsException( "Posición: " + k + ", tamaño: " + ordenadas.length );
+        return ordenadas[ k ];
+    }
+
+    /**
+     * Retorna la posición en el arreglo ordenado de la primera cadena del rango
+     */
+    private int inicio( String desde, boolean desdeInclusivo )
+    {
+        return desde == null ? 0 : buscar( desde, desdeInclusivo );
+    }
+
+    /**
+     * Retorna la posición en el arreglo ordenado de la primera cadena después del rango
+     */
+    private int fin( String hasta, boolean hastaInclusivo )
+    {
+        return hasta == null ? ordenadas.length : buscar( hasta, !hastaInclusivo );
+    }
+
+    @Override
+    protected int contarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+    {
+        return Math.max( 0, fin( hasta, hastaInclusivo ) - inicio( desde, desdeInclusivo ) );
+    }
+
+    @Override
+    protected Iterator<String> iterarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo, boolean descendente )
+    {
+        int inicio = inicio( desde, desdeInclusivo );
+        int fin = Math.max( inicio, fin( hasta, hastaInclusivo ) );
+        return new Recorrido( inicio, fin, descendente );
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return new Recorrido( 0, ordenadas.length, false );
+    }
+
+    @Override
+    public Iterator<String> descendingIterator( )
+    {
+        return new Recorrido( 0, ordenadas.length, true );
+    }
+
+    @Override
+    public Object[] toArray( )
+    {
+        return Arrays.copyOf( ordenadas, ordenadas.length, Object[].class );
+    }
+
+    /**
+     * Recorrido secuencial de una parte del arreglo ordenado
+     */
+    private final class Recorrido implements Iterator<String>
+    {
+        private final int inicio;
+
+        private final int fin;
+
+        private final boolean descendente;
+
+        private int entregadas;
+
+        private Recorrido( int inicio, int fin, boolean descendente )
+        {
+            this.inicio = inicio;
+            this.fin = fin;
+            this.descendente = descendente;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return entregadas < fin - inicio;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( !hasNext( ) )
+                throw new NoSuchElementException( );
+            int i = descendente ? fin - 1 - entregadas : inicio + entregadas;
+            entregadas++;
+            return ordenadas[ i ];
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Conjunto ordenado de cadenas que delega el almacenamiento en otro NavigableSet y mantiene, sincronizado con su contenido, un índice de las cadenas según
+ * su forma plegada (sin diferenciar mayúsculas y minúsculas).
+ *
+ * El índice asocia cada forma plegada con las cadenas del conjunto que la comparten, así que buscar o eliminar una cadena sin tener en cuenta mayúsculas y
+ * minúsculas cuesta O(log n) en lugar de recorrer todo el conjunto. Casi siempre una forma plegada tiene una sola escritura en el conjunto, y en ese caso
+ * el índice guarda directamente esa cadena: cada cadena cuesta un nodo del HashMap (del orden de un nodo del TreeSet) más, sólo si la cadena tiene
+ * mayúsculas, la copia plegada que sirve de llave. Las formas con varias escrituras guardan además un TreeSet con ellas. Aun así, el índice puede
+ * duplicar la memoria del conjunto, así que no se construye hasta la primera búsqueda sin mayúsculas (en O(n)); mientras tanto, el conjunto ocupa lo
+ * mismo que su respaldo.
+ *
+ * Opcionalmente, el conjunto puede mantener también un filtro de Bloom (ver activarFiltro) para que contains descarte en O(1), sin comparar cadenas, la
+ * mayoría de las cadenas que no están.
+ *
+ * Todas las formas de modificar el conjunto (incluyendo iteradores, pollFirst y las vistas de rangos) actualizan el índice y el filtro.
+ */
+public class ConjuntoIndexado extends ConjuntoOrdenado
+{
+    /**
+     * El conjunto donde realmente se almacenan las cadenas
+     */
+    private final NavigableSet<String> respaldo;
+
+    /**
+     * Las cadenas del conjunto, agrupadas por su forma plegada, o null si todavía no se ha necesitado el índice.
+     *
+     * El valor es la cadena misma si es la única con esa forma plegada, o un NavigableSet con todas las cadenas que la comparten si hay varias.
+     */
+    private Map<String, Object> porPlegado;
+
+    /**
+     * El filtro de Bloom con las cadenas del conjunto, o null si no está activado
+     */
+    private FiltroBloom filtro;
+
+    /**
+     * Crea un conjunto indexado sobre el conjunto dado. Las cadenas que ya estén en el conjunto se registran en el índice cuando se necesite.
+     * @param respaldo El conjunto donde se almacenarán las cadenas. Debe ordenar las cadenas lexicográficamente.
+     */
+    public ConjuntoIndexado( NavigableSet<String> respaldo )
+    {
+        this.respaldo = respaldo;
+    }
+
+    /**
+     * Retorna el índice por forma plegada, construyéndolo con las cadenas actuales si todavía no existe
+     */
+    private Map<String, Object> indice( )
+    {
+        if( porPlegado == null )
+        {
+            Map<String, Object> nuevo = new HashMap<String, Object>( );
+            for( String cadena : respaldo )
+            {
+                agregarVariante( nuevo, cadena );
+            }
+            porPlegado = nuevo;
+        }
+        return porPlegado;
+    }
+
+    /**
+     * Registra la cadena en el índice. Sólo se crea un conjunto de variantes cuando aparece una segunda escritura de la misma forma plegada.
+     */
+    @SuppressWarnings("unchecked")
+    private static void agregarVariante( Map<String, Object> indice, String cadena )
+    {
+        String plegada = ListaCadenasIndexada.plegar( cadena );
+        Object actual = indice.putIfAbsent( plegada, cadena );
+        if( actual == null || actual.equals( cadena ) )
+            return;
+        if( actual instanceof String )
+        {
+            NavigableSet<String> variantes = new TreeSet<String>( );
+            variantes.add( ( String )actual );
+            variantes.add( cadena );
+            indice.put( plegada, variantes );
+        }
+        else
+        {
+            ( ( NavigableSet<String> )actual ).add( cadena );
+        }
+    }
+
+    /**
+     * Quita la cadena del índice. Si queda una sola escritura de su forma plegada, el conjunto de variantes se reemplaza por esa cadena.
+     */
+    @SuppressWarnings("unchecked")
+    private static void quitarVariante( Map<String, Object> indice, String cadena )
+    {
+        String plegada = ListaCadenasIndexada.plegar( cadena );
+        Object actual = indice.get( plegada );
+        if( actual instanceof String )
+        {
+            if( actual.equals( cadena ) )
+                indice.remove( plegada );
+        }
+        else if( actual != null )
+        {
+            NavigableSet<String> variantes = ( NavigableSet<String> )actual;
+            if( variantes.remove( cadena ) && variantes.size( ) == 1 )
+                indice.put( plegada, variantes.first( ) );
+        }
+    }
+
+    /**
+     * Indica si ya se construyó el índice por forma plegada
+     * @return True si el índice existe y se mantiene actualizado con cada cambio
+     */
+    public boolean tieneIndice( )
+    {
+        return porPlegado != null;
+    }
+
+    private void indexar( String cadena )
+    {
+        if( porPlegado != null )
+            agregarVariante( porPlegado, cadena );
+        if( filtro != null )
+        {
+            filtro.agregar( cadena );
+            if( filtro.estaSaturado( ) )
+                activarFiltro( );
+        }
+    }
+
+    private void desindexar( String cadena )
+    {
+        if( porPlegado != null )
+            quitarVariante( porPlegado, cadena );
+        if( filtro != null )
+            filtro.quitar( cadena );
+    }
+
+    /**
+     * Activa el filtro de Bloom (o lo reconstruye, si ya estaba activo) con las cadenas actuales del conjunto.
+     *
+     * Con el filtro activo, contains descarta sin comparar cadenas la mayoría de las cadenas que no están en el conjunto, a cambio de aproximadamente 10
+     * bytes por cadena. El filtro se reconstruye automáticamente con el doble de capacidad cuando el conjunto crece más de lo previsto.
+     */
+    public void activarFiltro( )
+    {
+        FiltroBloom nuevo = new FiltroBloom( 2 * respaldo.size( ) );
+        for( String cadena : respaldo )
+        {
+            nuevo.agregar( cadena );
+        }
+        filtro = nuevo;
+    }
+
+    /**
+     * Desactiva el filtro de Bloom y libera su memoria
+     */
+    public void desactivarFiltro( )
+    {
+        filtro = null;
+    }
+
+    /**
+     * Indica si el filtro de Bloom está activo
+     * @return True si el filtro está activo
+     */
+    public boolean tieneFiltro( )
+    {
+        return filtro != null;
+    }
+
+    /**
+     * Indica si la cadena podría estar en el conjunto, usando sólo el filtro de Bloom
+     * @param cadena La cadena buscada
+     * @return False si la cadena seguro no está en el conjunto. True si podría estar, o si el filtro no está activo.
+     */
+    public boolean puedeContener( String cadena )
+    {
+        return filtro == null || filtro.puedeContener( cadena );
+    }
+
+    /**
+     * Indica si el conjunto contiene alguna cadena igual a la dada, sin tener en cuenta mayúsculas y minúsculas
+     * @param cadena La cadena buscada
+     * @return True si hay alguna cadena igual en el conjunto
+     */
+    public boolean contieneSinMayusculas( String cadena )
+    {
+        return indice( ).containsKey( ListaCadenasIndexada.plegar( cadena ) );
+    }
+
+    /**
+     * Retorna la primera cadena del conjunto (en orden lexicográfico) que es igual a la dada sin tener en cuenta mayúsculas y minúsculas
+     * @param cadena La cadena buscada
+     * @return La primera cadena igual, o null si no hay ninguna
+     */
+    @SuppressWarnings("unchecked")
+    public String buscarSinMayusculas( String cadena )
+    {
+        Object variantes = indice( ).get( ListaCadenasIndexada.plegar( cadena ) );
+        if( variantes == null || variantes instanceof String )
+            return ( String )variantes;
+        return ( ( NavigableSet<String> )variantes ).first( );
+    }
+
+    @Override
+    public int size( )
+    {
+        return respaldo.size( );
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        if( filtro != null && o instanceof String && !filtro.puedeContener( ( String )o ) )
+            return false;
+        return respaldo.contains( o );
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        if( !respaldo.add( cadena ) )
+            return false;
+        indexar( cadena );
+        return true;
+    }
+
+    @Override
+    public boolean addAll( Collection<? extends String> cadenas )
+    {
+        // Se delega en una sola operación para aprovechar las cargas masivas del conjunto de respaldo
+        boolean cambio = respaldo.addAll( cadenas );
+        if( cambio )
+        {
+            // Las cadenas repetidas o que ya estaban se contarían dos veces en el filtro, así que el filtro se reconstruye al final
+            boolean conFiltro = filtro != null;
+            filtro = null;
+            if( porPlegado != null )
+            {
+                for( String cadena : cadenas )
+                {
+                    indexar( cadena );
+                }
+            }
+            if( conFiltro )
+                activarFiltro( );
+        }
+        return cambio;
+    }
+
+    @Override
+    public boolean remove( Object o )
+    {
+        if( !respaldo.remove( o ) )
+            return false;
+        desindexar( ( String )o );
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        respaldo.clear( );
+        if( porPlegado != null )
+            porPlegado.clear( );
+        if( filtro != null )
+            filtro = new FiltroBloom( 0 );
+    }
+
+    @Override
+    public String primera( )
+    {
+        return respaldo.isEmpty( ) ? null : respaldo.first( );
+    }
+
+    @Override
+    public String ultima( )
+    {
+        return respaldo.isEmpty( ) ? null : respaldo.last( );
+    }
+
+    @Override
+    public String ceiling( String cadena )
+    {
+        return respaldo.ceiling( cadena );
+    }
+
+    @Override
+    public String higher( String cadena )
+    {
+        return respaldo.higher( cadena );
+    }
+
+    @Override
+    public String floor( String cadena )
+    {
+        return respaldo.floor( cadena );
+    }
+
+    @Override
+    public String lower( String cadena )
+    {
+        return respaldo.lower( cadena );
+    }
+
+    @Override
+    public String kesima( int k )
+    {
+        if( respaldo instanceof ConjuntoOrdenado )
+            return ( ( ConjuntoOrdenado )respaldo ).kesima( k );
+        return super.kesima( k );
+    }
+
+    /**
+     * Retorna la vista del conjunto de respaldo con las cadenas del rango dado, o null si el rango es vacío porque sus límites están invertidos
+     */
+    private NavigableSet<String> vista( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+    {
+        if( desde == null && hasta == null )
+            return respaldo;
+        if( desde == null )
+            return respaldo.headSet( hasta, hastaInclusivo );
+        if( hasta == null )
+            return respaldo.tailSet( desde, desdeInclusivo );
+        if( desde.compareTo( hasta ) > 0 )
+            return null;
+        return respaldo.subSet( desde, desdeInclusivo, hasta, hastaInclusivo );
+    }
+
+    @Override
+    protected int contarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+    {
+        NavigableSet<String> vista = vista( desde, desdeInclusivo, hasta, hastaInclusivo );
+        return vista == null ? 0 : vista.size( );
+    }
+
+    @Override
+    protected Iterator<String> iterarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo, boolean descendente )
+    {
+        NavigableSet<String> vista = vista( desde, desdeInclusivo, hasta, hastaInclusivo );
+        if( vista == null )
+            return Collections.emptyIterator( );
+        return new IteradorIndexado( descendente ? vista.descendingIterator( ) : vista.iterator( ) );
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return new IteradorIndexado( respaldo.iterator( ) );
+    }
+
+    @Override
+    public Iterator<String> descendingIterator( )
+    {
+        return new IteradorIndexado( respaldo.descendingIterator( ) );
+    }
+
+    /**
+     * Iterador que recorre directamente el conjunto de respaldo y actualiza el índice cuando se elimina un elemento
+     */
+    private final class IteradorIndexado implements Iterator<String>
+    {
+        private final Iterator<String> iterador;
+
+        private String ultimo;
+
+        private IteradorIndexado( Iterator<String> iterador )
+        {
+            this.iterador = iterador;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return iterador.hasNext( );
+        }
+
+        @Override
+        public String next( )
+        {
+            ultimo = iterador.next( );
+            return ultimo;
+        }
+
+        @Override
+        public void remove( )
+        {
+            iterador.remove( );
+            desindexar( ultimo );
+        }
+    }
+}
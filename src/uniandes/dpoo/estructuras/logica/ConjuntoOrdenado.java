@@ -0,0 +1,552 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base para implementar conjuntos de cadenas ordenados lexicográficamente (como un TreeSet&lt;String&gt;) a partir de unas pocas operaciones primitivas.
+ *
+ * Las subclases sólo tienen que implementar size, contains, primera, ultima, ceiling, higher, floor y lower (y add y remove si el conjunto se puede
+ * modificar). Esta clase construye sobre esas operaciones el resto de la interfaz NavigableSet, incluyendo los iteradores y las vistas de rangos
+ * (subSet, headSet, tailSet y descendingSet), que reflejan los cambios del conjunto sin copiarlo, y las consultas por posición rango y kesima.
+ *
+ * Los iteradores avanzan buscando el siguiente elemento con higher (o lower), así que cada paso cuesta lo mismo que una búsqueda. Las subclases que puedan
+ * recorrer sus elementos de forma más eficiente pueden sobrescribir iterator, descendingIterator, iterarEntre y contarEntre.
+ */
+public abstract class ConjuntoOrdenado extends AbstractSet<String> implements NavigableSet<String>
+{
+    /**
+     * Retorna la menor cadena del conjunto
+     * @return La menor cadena, o null si el conjunto está vacío
+     */
+    public abstract String primera( );
+
+    /**
+     * Retorna la mayor cadena del conjunto
+     * @return La mayor cadena, o null si el conjunto está vacío
+     */
+    public abstract String ultima( );
+
+    @Override
+    public abstract boolean contains( Object o );
+
+    @Override
+    public abstract String ceiling( String cadena );
+
+    @Override
+    public abstract String higher( String cadena );
+
+    @Override
+    public abstract String floor( String cadena );
+
+    @Override
+    public abstract String lower( String cadena );
+
+    /**
+     * Por defecto el conjunto no se puede modificar
+     */
+    @Override
+    public boolean remove( Object o )
+    {
+        throw new UnsupportedOperationException( );
+    }
+
+    /**
+     * Cuenta las cadenas del conjunto que están dentro del rango dado. Las vistas usan este método para calcular su tamaño.
+     * @param desde El límite inferior del rango, o null si no tiene límite inferior
+     * @param desdeInclusivo Indica si el límite inferior hace parte del rango
+     * @param hasta El límite superior del rango, o null si no tiene límite superior
+     * @param hastaInclusivo Indica si el límite superior hace parte del rango
+     * @return La cantidad de cadenas del conjunto dentro del rango
+     */
+    protected int contarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+    {
+        int cantidad = 0;
+        Iterator<String> iterador = new Rango( desde, desdeInclusivo, hasta, hastaInclusivo, false ).iterator( );
+        while( iterador.hasNext( ) )
+        {
+            iterador.next( );
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Retorna la posición que ocupa (u ocuparía) la cadena en el orden del conjunto: la cantidad de cadenas del conjunto que son menores que ella.
+     * 
+     * Por defecto se cuentan las cadenas con contarEntre, así que cuesta lo mismo que contarlas.
+     * @param cadena La cadena buscada
+     * @return La cantidad de cadenas del conjunto menores que la cadena
+     */
+    public int rango( String cadena )
+    {
+        return contarEntre( null, false, cadena, false );
+    }
+
+    /**
+     * Retorna la cadena que está en la posición k del orden del conjunto (empezando en 0).
+     * 
+     * Por defecto se recorre el conjunto desde el inicio.
+     * @param k La posición de la cadena
+     * @return La cadena en la posición k
+     * @throws IndexOutOfBoundsException Si k es negativo o no es menor que el tamaño del conjunto
+     */
+    public String kesima( int k )
+    {
+        if( k >= 0 )
+        {
+            Iterator<String> iterador = iterator( );
+            for( int i = 0; iterador.hasNext( ); i++ )
+            {
+                String cadena = iterador.next( );
+                if( i == k )
+                    return cadena;
+            }
+        }
+        throw new IndexOutOfBoundsException( "Posición: " + k + ", tamaño: " + size( ) );
+    }
+
+    /**
+     * Retorna un iterador sobre las cadenas del conjunto que están dentro del rango dado. Las vistas usan este método para recorrer sus elementos.
+     * @param desde El límite inferior del rango, o null si no tiene límite inferior
+     * @param desdeInclusivo Indica si el límite inferior hace parte del rango
+     * @param hasta El límite superior del rango, o null si no tiene límite superior
+     * @param hastaInclusivo Indica si el límite superior hace parte del rango
+     * @param descendente Indica si el recorrido va de mayor a menor
+     * @return Un iterador sobre las cadenas del rango
+     */
+    protected Iterator<String> iterarEntre( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo, boolean descendente )
+    {
+        Rango rango = new Rango( desde, desdeInclusivo, hasta, hastaInclusivo, descendente );
+        return new IteradorEncadenado( rango.primeraDeLaVista( ), rango::higher );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return primera( ) == null;
+    }
+
+    @Override
+    public Comparator<? super String> comparator( )
+    {
+        return null;
+    }
+
+    @Override
+    public String first( )
+    {
+        return existente( primera( ) );
+    }
+
+    @Override
+    public String last( )
+    {
+        return existente( ultima( ) );
+    }
+
+    @Override
+    public String pollFirst( )
+    {
+        String primera = primera( );
+        if( primera != null )
+            remove( primera );
+        return primera;
+    }
+
+    @Override
+    public String pollLast( )
+    {
+        String ultima = ultima( );
+        if( ultima != null )
+            remove( ultima );
+        return ultima;
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return new IteradorEncadenado( primera( ), this::higher );
+    }
+
+    @Override
+    public Iterator<String> descendingIterator( )
+    {
+        return new IteradorEncadenado( ultima( ), this::lower );
+    }
+
+    @Override
+    public NavigableSet<String> descendingSet( )
+    {
+        return new Rango( null, false, null, false, true );
+    }
+
+    @Override
+    public NavigableSet<String> subSet( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+    {
+        return new Rango( desde, desdeInclusivo, hasta, hastaInclusivo, false );
+    }
+
+    @Override
+    public NavigableSet<String> headSet( String hasta, boolean inclusivo )
+    {
+        return new Rango( null, false, hasta, inclusivo, false );
+    }
+
+    @Override
+    public NavigableSet<String> tailSet( String desde, boolean inclusivo )
+    {
+        return new Rango( desde, inclusivo, null, false, false );
+    }
+
+    @Override
+    public SortedSet<String> subSet( String desde, String hasta )
+    {
+        return subSet( desde, true, hasta, false );
+    }
+
+    @Override
+    public SortedSet<String> headSet( String hasta )
+    {
+        return headSet( hasta, false );
+    }
+
+    @Override
+    public SortedSet<String> tailSet( String desde )
+    {
+        return tailSet( desde, true );
+    }
+
+    private static String existente( String cadena )
+    {
+        if( cadena == null )
+            throw new NoSuchElementException( );
+        return cadena;
+    }
+
+    /**
+     * Iterador que calcula cada elemento a partir del anterior. Eliminar un elemento no afecta el recorrido, porque el siguiente elemento ya se calculó.
+     */
+    private final class IteradorEncadenado implements Iterator<String>
+    {
+        private final UnaryOperator<String> avance;
+
+        private String siguiente;
+
+        private String ultimo;
+
+        private IteradorEncadenado( String primero, UnaryOperator<String> avance )
+        {
+            this.avance = avance;
+            this.siguiente = primero;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return siguiente != null;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( siguiente == null )
+                throw new NoSuchElementException( );
+            ultimo = siguiente;
+            siguiente = avance.apply( ultimo );
+            return ultimo;
+        }
+
+        @Override
+        public void remove( )
+        {
+            if( ultimo == null )
+                throw new IllegalStateException( );
+            ConjuntoOrdenado.this.remove( ultimo );
+            ultimo = null;
+        }
+    }
+
+    /**
+     * Vista de las cadenas del conjunto que están dentro de un rango, en orden ascendente o descendente. La vista no copia nada: todas sus operaciones se
+     * resuelven con las operaciones del conjunto.
+     */
+    private final class Rango extends AbstractSet<String> implements NavigableSet<String>
+    {
+        /**
+         * El límite inferior (en orden ascendente), o null si no hay límite
+         */
+        private final String bajo;
+
+        private final boolean bajoInclusivo;
+
+        /**
+         * El límite superior (en orden ascendente), o null si no hay límite
+         */
+        private final String alto;
+
+        private final boolean altoInclusivo;
+
+        /**
+         * Indica si la vista presenta los elementos de mayor a menor
+         */
+        private final boolean descendente;
+
+        private Rango( String bajo, boolean bajoInclusivo, String alto, boolean altoInclusivo, boolean descendente )
+        {
+            this.bajo = bajo;
+            this.bajoInclusivo = bajoInclusivo;
+            this.alto = alto;
+            this.altoInclusivo = altoInclusivo;
+            this.descendente = descendente;
+        }
+
+        private boolean debajo( String cadena )
+        {
+            if( bajo == null )
+                return false;
+            int comparacion = cadena.compareTo( bajo );
+            return comparacion < 0 || ( comparacion == 0 && !bajoInclusivo );
+        }
+
+        private boolean encima( String cadena )
+        {
+            if( alto == null )
+                return false;
+            int comparacion = cadena.compareTo( alto );
+            return comparacion > 0 || ( comparacion == 0 && !altoInclusivo );
+        }
+
+        private boolean enRango( String cadena )
+        {
+            return !debajo( cadena ) && !encima( cadena );
+        }
+
+        private String dentro( String cadena )
+        {
+            return cadena == null || !enRango( cadena ) ? null : cadena;
+        }
+
+        // Operaciones en orden ascendente, restringidas al rango
+
+        private String minimo( )
+        {
+            if( bajo == null )
+                return dentro( primera( ) );
+            return dentro( bajoInclusivo ? ConjuntoOrdenado.this.ceiling( bajo ) : ConjuntoOrdenado.this.higher( bajo ) );
+        }
+
+        private String maximo( )
+        {
+            if( alto == null )
+                return dentro( ultima( ) );
+            return dentro( altoInclusivo ? ConjuntoOrdenado.this.floor( alto ) : ConjuntoOrdenado.this.lower( alto ) );
+        }
+
+        private String techo( String cadena, boolean inclusivo )
+        {
+            if( debajo( cadena ) )
+                return minimo( );
+            return dentro( inclusivo ? ConjuntoOrdenado.this.ceiling( cadena ) : ConjuntoOrdenado.this.higher( cadena ) );
+        }
+
+        private String piso( String cadena, boolean inclusivo )
+        {
+            if( encima( cadena ) )
+                return maximo( );
+            return dentro( inclusivo ? ConjuntoOrdenado.this.floor( cadena ) : ConjuntoOrdenado.this.lower( cadena ) );
+        }
+
+        // Operaciones de NavigableSet, en el orden de la vista
+
+        @Override
+        public String ceiling( String cadena )
+        {
+            return descendente ? piso( cadena, true ) : techo( cadena, true );
+        }
+
+        @Override
+        public String higher( String cadena )
+        {
+            return descendente ? piso( cadena, false ) : techo( cadena, false );
+        }
+
+        @Override
+        public String floor( String cadena )
+        {
+            return descendente ? techo( cadena, true ) : piso( cadena, true );
+        }
+
+        @Override
+        public String lower( String cadena )
+        {
+            return descendente ? techo( cadena, false ) : piso( cadena, false );
+        }
+
+        private String primeraDeLaVista( )
+        {
+            return descendente ? maximo( ) : minimo( );
+        }
+
+        private String ultimaDeLaVista( )
+        {
+            return descendente ? minimo( ) : maximo( );
+        }
+
+        @Override
+        public String first( )
+        {
+            return existente( primeraDeLaVista( ) );
+        }
+
+        @Override
+        public String last( )
+        {
+            return existente( ultimaDeLaVista( ) );
+        }
+
+        @Override
+        public String pollFirst( )
+        {
+            String primera = primeraDeLaVista( );
+            if( primera != null )
+                ConjuntoOrdenado.this.remove( primera );
+            return primera;
+        }
+
+        @Override
+        public String pollLast( )
+        {
+            String ultima = ultimaDeLaVista( );
+            if( ultima != null )
+                ConjuntoOrdenado.this.remove( ultima );
+            return ultima;
+        }
+
+        @Override
+        public boolean contains( Object o )
+        {
+            return o instanceof String && enRango( ( String )o ) && ConjuntoOrdenado.this.contains( o );
+        }
+
+        @Override
+        public boolean add( String cadena )
+        {
+            if( !enRango( cadena ) )
+                throw new IllegalArgumentException( "La cadena está fuera del rango de la vista: " + cadena );
+            return ConjuntoOrdenado.this.add( cadena );
+        }
+
+        @Override
+        public boolean remove( Object o )
+        {
+            return o instanceof String && enRango( ( String )o ) && ConjuntoOrdenado.this.remove( o );
+        }
+
+        @Override
+        public int size( )
+        {
+            return contarEntre( bajo, bajoInclusivo, alto, altoInclusivo );
+        }
+
+        @Override
+        public boolean isEmpty( )
+        {
+            return minimo( ) == null;
+        }
+
+        @Override
+        public Iterator<String> iterator( )
+        {
+            return iterarEntre( bajo, bajoInclusivo, alto, altoInclusivo, descendente );
+        }
+
+        @Override
+        public Iterator<String> descendingIterator( )
+        {
+            return iterarEntre( bajo, bajoInclusivo, alto, altoInclusivo, !descendente );
+        }
+
+        @Override
+        public Comparator<? super String> comparator( )
+        {
+            return descendente ? Collections.reverseOrder( ) : null;
+        }
+
+        @Override
+        public NavigableSet<String> descendingSet( )
+        {
+            return new Rango( bajo, bajoInclusivo, alto, altoInclusivo, !descendente );
+        }
+
+        /**
+         * Construye una vista con la intersección entre este rango y el rango dado (en orden ascendente)
+         */
+        private Rango restringir( String nuevoBajo, boolean nuevoBajoInclusivo, String nuevoAlto, boolean nuevoAltoInclusivo )
+        {
+            String b = bajo;
+            boolean bi = bajoInclusivo;
+            if( nuevoBajo != null && ( b == null || nuevoBajo.compareTo( b ) > 0 || ( nuevoBajo.equals( b ) && !nuevoBajoInclusivo ) ) )
+            {
+                b = nuevoBajo;
+                bi = nuevoBajoInclusivo;
+            }
+            String a = alto;
+            boolean ai = altoInclusivo;
+            if( nuevoAlto != null && ( a == null || nuevoAlto.compareTo( a ) < 0 || ( nuevoAlto.equals( a ) && !nuevoAltoInclusivo ) ) )
+            {
+                a = nuevoAlto;
+                ai = nuevoAltoInclusivo;
+            }
+            return new Rango( b, bi, a, ai, descendente );
+        }
+
+        @Override
+        public NavigableSet<String> subSet( String desde, boolean desdeInclusivo, String hasta, boolean hastaInclusivo )
+        {
+            if( descendente )
+                return restringir( hasta, hastaInclusivo, desde, desdeInclusivo );
+            return restringir( desde, desdeInclusivo, hasta, hastaInclusivo );
+        }
+
+        @Override
+        public NavigableSet<String> headSet( String hasta, boolean inclusivo )
+        {
+            if( descendente )
+                return restringir( hasta, inclusivo, null, false );
+            return restringir( null, false, hasta, inclusivo );
+        }
+
+        @Override
+        public NavigableSet<String> tailSet( String desde, boolean inclusivo )
+        {
+            if( descendente )
+                return restringir( null, false, desde, inclusivo );
+            return restringir( desde, inclusivo, null, false );
+        }
+
+        @Override
+        public SortedSet<String> subSet( String desde, String hasta )
+        {
+            return subSet( desde, true, hasta, false );
+        }
+
+        @Override
+        public SortedSet<String> headSet( String hasta )
+        {
+            return headSet( hasta, false );
+        }
+
+        @Override
+        public SortedSet<String> tailSet( String desde )
+        {
+            return tailSet( desde, true );
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de enteros primitivos a su cantidad de apariciones, implementado con direccionamiento abierto.
+ *
+ * Además de las cantidades, lleva la cuenta de cuántos valores distintos aparecen más de una vez, de modo que esa consulta cuesta O(1).
+ */
+final class ConteoEnteros
+{
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Los valores registrados. Una posición está libre cuando su conteo es 0.
+     */
+    private int[] llaves;
+
+    /**
+     * La cantidad de apariciones de cada valor registrado
+     */
+    private int[] conteos;
+
+    private int mascara;
+
+    /**
+     * La cantidad de valores distintos registrados
+     */
+    private int distintos;
+
+    /**
+     * La cantidad de valores distintos que aparecen más de una vez
+     */
+    private int repetidos;
+
+    ConteoEnteros( )
+    {
+        inicializar( CAPACIDAD_INICIAL );
+    }
+
+    private void inicializar( int capacidad )
+    {
+        llaves = new int[capacidad];
+        conteos = new int[capacidad];
+        mascara = capacidad - 1;
+        distintos = 0;
+        repetidos = 0;
+    }
+
+    private int posicionIdeal( int valor )
+    {
+        int h = valor * 0x9E3779B9;
+        return ( h ^ ( h >>> 16 ) ) & mascara;
+    }
+
+    /**
+     * Retorna la posición donde está registrado el valor, o -1 si no está registrado
+     */
+    private int buscar( int valor )
+    {
+        int i = posicionIdeal( valor );
+        while( conteos[ i ] != 0 )
+        {
+            if( llaves[ i ] == valor )
+                return i;
+            i = ( i + 1 ) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Retorna la cantidad de veces que aparece el valor
+     */
+    int contar( int valor )
+    {
+        int i = buscar( valor );
+        return i == -1 ? 0 : conteos[ i ];
+    }
+
+    /**
+     * Retorna la cantidad de valores distintos que aparecen más de una vez
+     */
+    int getRepetidos( )
+    {
+        return repetidos;
+    }
+
+    /**
+     * Registra una nueva aparición del valor
+     */
+    void incrementar( int valor )
+    {
+        int i = posicionIdeal( valor );
+        while( conteos[ i ] != 0 )
+        {
+            if( llaves[ i ] == valor )
+            {
+                conteos[ i ]++;
+                if( conteos[ i ] == 2 )
+                    repetidos++;
+                return;
+            }
+            i = ( i + 1 ) & mascara;
+        }
+        llaves[ i ] = valor;
+        conteos[ i ] = 1;
+        distintos++;
+        if( distintos * 4 > llaves.length * 3 )
+            crecer( );
+    }
+
+    /**
+     * Elimina una aparición del valor. Si el valor no estaba registrado, no hace nada.
+     */
+    void decrementar( int valor )
+    {
+        int i = buscar( valor );
+        if( i == -1 )
+            return;
+        conteos[ i ]--;
+        if( conteos[ i ] == 1 )
+            repetidos--;
+        if( conteos[ i ] == 0 )
+        {
+            distintos--;
+            liberar( i );
+        }
+    }
+
+    /**
+     * Elimina todos los valores registrados
+     */
+    void limpiar( )
+    {
+        if( llaves.length > CAPACIDAD_INICIAL )
+        {
+            inicializar( CAPACIDAD_INICIAL );
+        }
+        else
+        {
+            Arrays.fill( conteos, 0 );
+            distintos = 0;
+            repetidos = 0;
+        }
+    }
+
+    /**
+     * Libera una posición desplazando hacia atrás los valores que quedarían inalcanzables (no se usan marcas de borrado)
+     */
+    private void liberar( int hueco )
+    {
+        int j = hueco;
+        while( true )
+        {
+            j = ( j + 1 ) & mascara;
+            if( conteos[ j ] == 0 )
+                break;
+            int ideal = posicionIdeal( llaves[ j ] );
+            boolean alcanzable = hueco <= j ? ( hueco < ideal && ideal <= j ) : ( hueco < ideal || ideal <= j );
+            if( !alcanzable )
+            {
+                llaves[ hueco ] = llaves[ j ];
+                conteos[ hueco ] = conteos[ j ];
+                hueco = j;
+            }
+        }
+        conteos[ hueco ] = 0;
+    }
+
+    private void crecer( )
+    {
+        int[] viejasLlaves = llaves;
+        int[] viejosConteos = conteos;
+        int viejosRepetidos = repetidos;
+        int viejosDistintos = distintos;
+        inicializar( viejasLlaves.length * 2 );
+        for( int k = 0; k < viejasLlaves.length; k++ )
+        {
+            if( viejosConteos[ k ] != 0 )
+            {
+                int i = posicionIdeal( viejasLlaves[ k ] );
+                while( conteos[ i ] != 0 )
+                {
+                    i = ( i + 1 ) & mascara;
+                }
+                llaves[ i ] = viejasLlaves[ k ];
+                conteos[ i ] = viejosConteos[ k ];
+            }
+        }
+        repetidos = viejosRepetidos;
+        distintos = viejosDistintos;
+    }
+}
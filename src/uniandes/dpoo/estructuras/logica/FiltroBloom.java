@@ -0,0 +1,113 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Filtro de Bloom con contadores para cadenas: responde en O(1), sin comparar cadenas, si una cadena seguro no está en un conjunto.
+ *
+ * Cada cadena incrementa CANTIDAD_FUNCIONES contadores de un arreglo. Una cadena cuyos contadores no son todos positivos seguro no se agregó; si todos son
+ * positivos, probablemente se agregó (con una tasa de falsos positivos cercana al 1% mientras no se pase de la capacidad). Como se usan contadores y no
+ * bits, las cadenas también se pueden quitar. Un contador que llega a 255 ya no se decrementa, para que nunca produzca falsos negativos.
+ */
+final class FiltroBloom
+{
+    /**
+     * La cantidad de contadores que se usan por cada cadena
+     */
+    private static final int CANTIDAD_FUNCIONES = 7;
+
+    /**
+     * La cantidad de contadores que se reservan por cada cadena que puede contener el filtro
+     */
+    private static final int CONTADORES_POR_CADENA = 10;
+
+    private static final int SATURADO = 0xFF;
+
+    private final byte[] contadores;
+
+    /**
+     * La cantidad de cadenas a partir de la cual la tasa de falsos positivos empieza a crecer
+     */
+    private final int capacidad;
+
+    private int cantidad;
+
+    /**
+     * Crea un filtro vacío
+     * @param capacidad La cantidad de cadenas que se espera guardar en el filtro
+     */
+    FiltroBloom( int capacidad )
+    {
+        this.capacidad = Math.max( capacidad, 64 );
+        this.contadores = new byte[( int )Math.min( Integer.MAX_VALUE - 8, ( long )this.capacidad * CONTADORES_POR_CADENA )];
+    }
+
+    /**
+     * Mezcla los bits del hash de la cadena para obtener un segundo hash independiente
+     */
+    private static int mezclar( int h )
+    {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ ( h >>> 16 );
+    }
+
+    /**
+     * Retorna la posición del contador número i de la cadena, usando doble hashing
+     */
+    private int posicion( int h1, int h2, int i )
+    {
+        return ( ( h1 + i * h2 ) & 0x7FFFFFFF ) % contadores.length;
+    }
+
+    void agregar( String cadena )
+    {
+        int h1 = cadena.hashCode( );
+        int h2 = mezclar( h1 ) | 1;
+        for( int i = 0; i < CANTIDAD_FUNCIONES; i++ )
+        {
+            int p = posicion( h1, h2, i );
+            if( ( contadores[ p ] & 0xFF ) != SATURADO )
+                contadores[ p ]++;
+        }
+        cantidad++;
+    }
+
+    void quitar( String cadena )
+    {
+        int h1 = cadena.hashCode( );
+        int h2 = mezclar( h1 ) | 1;
+        for( int i = 0; i < CANTIDAD_FUNCIONES; i++ )
+        {
+            int p = posicion( h1, h2, i );
+            int contador = contadores[ p ] & 0xFF;
+            if( contador != SATURADO && contador > 0 )
+                contadores[ p ]--;
+        }
+        cantidad--;
+    }
+
+    /**
+     * Indica si la cadena puede estar en el filtro
+     * @return False si la cadena seguro no está; true si probablemente está
+     */
+    boolean puedeContener( String cadena )
+    {
+        int h1 = cadena.hashCode( );
+        int h2 = mezclar( h1 ) | 1;
+        for( int i = 0; i < CANTIDAD_FUNCIONES; i++ )
+        {
+            if( contadores[ posicion( h1, h2, i ) ] == 0 )
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Indica si el filtro tiene más cadenas de las previstas, así que su tasa de falsos positivos ya no es la esperada
+     */
+    boolean estaSaturado( )
+    {
+        return cantidad > capacidad;
+    }
+}
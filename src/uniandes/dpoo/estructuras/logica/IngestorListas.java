@@ -0,0 +1,365 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Punto de entrada para que muchos hilos productores agreguen valores a un SandboxListas sin tener que sincronizarse entre ellos.
+ *
+ * Los productores publican valores en una cola acotada: si la cola está llena, publicar bloquea al productor (contrapresión) y ofrecer retorna false. Un
+ * único hilo escritor toma los valores de la cola en lotes y los aplica al SandboxListas, en el orden en que entraron a la cola, mientras tiene el monitor
+ * del SandboxListas. Quien quiera consultar el SandboxListas mientras el ingestor está activo debe hacerlo dentro de un bloque synchronized sobre él.
+ *
+ * Si el sandbox lanza una excepción al aplicar un valor, el escritor termina, el ingestor queda cerrado y los valores que seguían en la cola se descartan.
+ * Los productores que estaban esperando espacio en la cola reciben una IllegalStateException en lugar de quedarse esperando.
+ *
+ * El ingestor expone métricas sobre el tamaño de los lotes y la profundidad de la cola.
+ */
+public class IngestorListas
+{
+    /**
+     * Marca que se pone en la cola para indicarle al escritor que debe terminar
+     */
+    private static final Object FIN = new Object( );
+
+    /**
+     * El sandbox donde se aplican los valores
+     */
+    private final SandboxListas destino;
+
+    /**
+     * La cola donde los productores dejan los valores. Contiene objetos Integer, String o la marca FIN.
+     */
+    private final BlockingQueue<Object> cola;
+
+    /**
+     * La cantidad máxima de valores que se aplican en un solo lote
+     */
+    private final int tamanioMaximoLote;
+
+    /**
+     * El hilo que aplica los valores al sandbox
+     */
+    private final Thread escritor;
+
+    private volatile boolean cerrado;
+
+    /**
+     * Compuerta entre los productores y el cierre: los productores verifican que el ingestor esté abierto y ponen su valor en la cola mientras tienen el
+     * candado de lectura, y cerrar el ingestor requiere el candado de escritura. Así ningún valor entra a la cola después del cierre.
+     */
+    private final ReadWriteLock compuerta;
+
+    private volatile RuntimeException error;
+
+    private final AtomicLong lotesAplicados;
+
+    private final AtomicLong valoresAplicados;
+
+    private volatile int tamanioUltimoLote;
+
+    /**
+     * Varios productores la actualizan a la vez, así que se actualiza de forma atómica para que un valor menor nunca reemplace a uno mayor
+     */
+    private final AtomicInteger profundidadMaxima;
+
+    /**
+     * Crea un nuevo ingestor y arranca su hilo escritor
+     * @param destino El sandbox donde se aplicarán los valores
+     * @param capacidadCola La cantidad máxima de valores que pueden estar esperando en la cola
+     * @param tamanioMaximoLote La cantidad máxima de valores que se aplican en un solo lote
+     */
+    public IngestorListas( SandboxListas destino, int capacidadCola, int tamanioMaximoLote )
+    {
+        if( capacidadCola <= 0 || tamanioMaximoLote <= 0 )
+            throw new IllegalArgumentException( "La capacidad de la cola y el tamaño de los lotes deben ser mayores a 0" );
+        this.destino = destino;
+        this.cola = new ArrayBlockingQueue<Object>( capacidadCola );
+        this.tamanioMaximoLote = tamanioMaximoLote;
+        this.lotesAplicados = new AtomicLong( );
+        this.valoresAplicados = new AtomicLong( );
+        this.profundidadMaxima = new AtomicInteger( );
+        this.compuerta = new ReentrantReadWriteLock( );
+        this.escritor = new Thread( this::escribir, "IngestorListas" );
+        this.escritor.setDaemon( true );
+        this.escritor.start( );
+    }
+
+    /**
+     * Publica un entero para que se agregue a la lista de enteros. Si la cola está llena, espera hasta que haya espacio.
+     * @param entero El valor que se va a agregar
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera
+     * @throws IllegalStateException Si el ingestor ya se cerró
+     */
+    public void publicarEntero( int entero ) throws InterruptedException
+    {
+        publicar( entero );
+    }
+
+    /**
+     * Publica una cadena para que se agregue a la lista de cadenas. Si la cola está llena, espera hasta que haya espacio.
+     * @param cadena La cadena que se va a agregar
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera
+     * @throws IllegalStateException Si el ingestor ya se cerró
+     */
+    public void publicarCadena( String cadena ) throws InterruptedException
+    {
+        publicar( cadena );
+    }
+
+    /**
+     * Intenta publicar un entero sin esperar
+     * @param entero El valor que se va a agregar
+     * @return True si el valor quedó en la cola, false si la cola estaba llena
+     * @throws IllegalStateException Si el ingestor ya se cerró
+     */
+    public boolean ofrecerEntero( int entero )
+    {
+        return ofrecer( entero );
+    }
+
+    /**
+     * Intenta publicar una cadena sin esperar
+     * @param cadena La cadena que se va a agregar
+     * @return True si la cadena quedó en la cola, false si la cola estaba llena
+     * @throws IllegalStateException Si el ingestor ya se cerró
+     */
+    public boolean ofrecerCadena( String cadena )
+    {
+        return ofrecer( cadena );
+    }
+
+    private void publicar( Object valor ) throws InterruptedException
+    {
+        // La espera es por intervalos cortos, soltando la compuerta entre uno y otro, para que el cierre no tenga que esperar a que haya espacio y para
+        // volver a verificar si el ingestor se cerró (por ejemplo, porque el escritor falló)
+        while( true )
+        {
+            compuerta.readLock( ).lock( );
+            try
+            {
+                verificarAbierto( );
+                if( cola.offer( valor, 10, TimeUnit.MILLISECONDS ) )
+                {
+                    registrarProfundidad( );
+                    return;
+                }
+            }
+            finally
+            {
+                compuerta.readLock( ).unlock( );
+            }
+        }
+    }
+
+    private boolean ofrecer( Object valor )
+    {
+        compuerta.readLock( ).lock( );
+        try
+        {
+            verificarAbierto( );
+            boolean aceptado = cola.offer( valor );
+            if( aceptado )
+                registrarProfundidad( );
+            return aceptado;
+        }
+        finally
+        {
+            compuerta.readLock( ).unlock( );
+        }
+    }
+
+    private void verificarAbierto( )
+    {
+        if( cerrado )
+            throw new IllegalStateException( "El ingestor ya se cerró", error );
+    }
+
+    private void registrarProfundidad( )
+    {
+        profundidadMaxima.accumulateAndGet( cola.size( ), Math::max );
+    }
+
+    /**
+     * Cierra el ingestor: espera a que se apliquen todos los valores publicados antes del cierre y termina el hilo escritor.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera
+     */
+    public void cerrar( ) throws InterruptedException
+    {
+        compuerta.writeLock( ).lock( );
+        try
+        {
+            if( cerrado )
+                return;
+            cerrado = true;
+        }
+        finally
+        {
+            compuerta.writeLock( ).unlock( );
+        }
+        // Si el escritor ya terminó por un error, nadie va a consumir la marca
+        while( escritor.isAlive( ) && !cola.offer( FIN, 10, TimeUnit.MILLISECONDS ) )
+        {
+            // Se sigue intentando mientras el escritor libera espacio
+        }
+        escritor.join( );
+    }
+
+    /**
+     * Ciclo del hilo escritor: toma lotes de la cola y los aplica al sandbox
+     */
+    private void escribir( )
+    {
+        List<Object> lote = new ArrayList<Object>( tamanioMaximoLote );
+        try
+        {
+            while( true )
+            {
+                lote.add( cola.take( ) );
+                cola.drainTo( lote, tamanioMaximoLote - 1 );
+                boolean terminar = aplicar( lote );
+                lote.clear( );
+                if( terminar )
+                    return;
+            }
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread( ).interrupt( );
+        }
+        catch( RuntimeException e )
+        {
+            error = e;
+        }
+        finally
+        {
+            detener( );
+        }
+    }
+
+    /**
+     * Cierra el ingestor desde el escritor y descarta los valores que quedaron en la cola, que ya nadie va a aplicar. Los productores que estaban esperando
+     * espacio lo notan al volver a verificar si el ingestor está abierto.
+     */
+    private void detener( )
+    {
+        compuerta.writeLock( ).lock( );
+        try
+        {
+            cerrado = true;
+            cola.clear( );
+        }
+        finally
+        {
+            compuerta.writeLock( ).unlock( );
+        }
+    }
+
+    /**
+     * Aplica un lote al sandbox
+     * @return True si el lote contenía la marca de fin
+     */
+    private boolean aplicar( List<Object> lote )
+    {
+        boolean terminar = false;
+        int aplicados = 0;
+        synchronized( destino )
+        {
+            for( Object valor : lote )
+            {
+                if( valor == FIN )
+                {
+                    terminar = true;
+                }
+                else if( valor instanceof Integer )
+                {
+                    destino.agregarEntero( ( Integer )valor );
+                    aplicados++;
+                }
+                else
+                {
+                    destino.agregarCadena( ( String )valor );
+                    aplicados++;
+                }
+            }
+        }
+        if( aplicados > 0 )
+        {
+            lotesAplicados.incrementAndGet( );
+            valoresAplicados.addAndGet( aplicados );
+            tamanioUltimoLote = aplicados;
+        }
+        return terminar;
+    }
+
+    /**
+     * Retorna la cantidad de valores que están esperando en la cola
+     * @return La profundidad actual de la cola
+     */
+    public int getProfundidadCola( )
+    {
+        return cola.size( );
+    }
+
+    /**
+     * Retorna la mayor profundidad de la cola observada al publicar un valor
+     * @return La profundidad máxima observada
+     */
+    public int getProfundidadMaxima( )
+    {
+        return profundidadMaxima.get( );
+    }
+
+    /**
+     * Retorna la cantidad de lotes que se han aplicado al sandbox
+     * @return La cantidad de lotes aplicados
+     */
+    public long getLotesAplicados( )
+    {
+        return lotesAplicados.get( );
+    }
+
+    /**
+     * Retorna la cantidad de valores que se han aplicado al sandbox
+     * @return La cantidad de valores aplicados
+     */
+    public long getValoresAplicados( )
+    {
+        return valoresAplicados.get( );
+    }
+
+    /**
+     * Retorna el tamaño del último lote aplicado
+     * @return La cantidad de valores del último lote
+     */
+    public int getTamanioUltimoLote( )
+    {
+        return tamanioUltimoLote;
+    }
+
+    /**
+     * Retorna el tamaño promedio de los lotes aplicados
+     * @return El tamaño promedio, o 0 si no se ha aplicado ningún lote
+     */
+    public double getTamanioPromedioLote( )
+    {
+        long lotes = lotesAplicados.get( );
+        return lotes == 0 ? 0 : ( double )valoresAplicados.get( ) / lotes;
+    }
+
+    /**
+     * Retorna el error que detuvo al hilo escritor, si lo hubo
+     * @return La excepción que lanzó el sandbox al aplicar un valor, o null si no ha habido errores
+     */
+    public RuntimeException getError( )
+    {
+        return error;
+    }
+}
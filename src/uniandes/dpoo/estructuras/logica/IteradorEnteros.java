@@ -0,0 +1,38 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterador de sólo lectura que entrega como enteros primitivos los valores de una lista de enteros.
+ *
+ * El iterador se apoya en el iterador de la lista, así que falla (lanza ConcurrentModificationException) si la lista se modifica mientras se recorre.
+ */
+public class IteradorEnteros implements PrimitiveIterator.OfInt
+{
+    /**
+     * El iterador de la lista que se recorre
+     */
+    private final Iterator<Integer> iterador;
+
+    /**
+     * Crea un iterador sobre los valores de la lista
+     * @param valores Los valores que se van a recorrer
+     */
+    public IteradorEnteros( Iterable<Integer> valores )
+    {
+        this.iterador = valores.iterator( );
+    }
+
+    @Override
+    public boolean hasNext( )
+    {
+        return iterador.hasNext( );
+    }
+
+    @Override
+    public int nextInt( )
+    {
+        return iterador.next( );
+    }
+}
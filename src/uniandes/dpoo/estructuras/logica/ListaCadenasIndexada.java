@@ -0,0 +1,87 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lista de cadenas que mantiene actualizada la cantidad de apariciones de cada cadena sin tener en cuenta mayúsculas y minúsculas.
+ *
+ * Cada cadena se pliega (se lleva a una forma común para mayúsculas y minúsculas) una sola vez, cuando entra o sale de la lista, así que contar las
+ * apariciones de una cadena cuesta lo mismo que plegar la cadena buscada, sin importar el tamaño de la lista.
+ */
+public class ListaCadenasIndexada extends ListaIndexada<String>
+{
+    /**
+     * La cantidad de apariciones de cada forma plegada
+     */
+    private final Map<String, Integer> conteo;
+
+    /**
+     * Crea una nueva lista indexada sobre la lista dada
+     * @param respaldo La lista donde se almacenarán las cadenas
+     */
+    public ListaCadenasIndexada( List<String> respaldo )
+    {
+        super( respaldo );
+        conteo = new HashMap<String, Integer>( );
+        indexarContenido( );
+    }
+
+    /**
+     * Retorna la forma plegada de una cadena. Dos cadenas tienen la misma forma plegada si y sólo si equalsIgnoreCase las considera iguales.
+     *
+     * Si la cadena ya está plegada (por ejemplo, si está toda en minúsculas), se retorna la misma cadena sin crear una copia.
+     * @param cadena La cadena que se va a plegar
+     * @return La forma plegada de la cadena, o null si la cadena es null
+     */
+    public static String plegar( String cadena )
+    {
+        if( cadena == null )
+            return null;
+        for( int i = 0; i < cadena.length( ); i++ )
+        {
+            char caracter = cadena.charAt( i );
+            // Es la misma comparación por caracteres que hace equalsIgnoreCase
+            if( Character.toLowerCase( Character.toUpperCase( caracter ) ) != caracter )
+            {
+                char[] caracteres = cadena.toCharArray( );
+                for( int j = i; j < caracteres.length; j++ )
+                {
+                    caracteres[ j ] = Character.toLowerCase( Character.toUpperCase( caracteres[ j ] ) );
+                }
+                return new String( caracteres );
+            }
+        }
+        return cadena;
+    }
+
+    /**
+     * Retorna la cantidad de veces que aparece la cadena en la lista, sin tener en cuenta mayúsculas y minúsculas
+     * @param cadena La cadena buscada
+     * @return La cantidad de apariciones
+     */
+    public int contarSinMayusculas( String cadena )
+    {
+        Integer cantidad = conteo.get( plegar( cadena ) );
+        return cantidad == null ? 0 : cantidad;
+    }
+
+    @Override
+    protected void alAgregar( String elemento )
+    {
+        conteo.merge( plegar( elemento ), 1, Integer::sum );
+    }
+
+    @Override
+    protected void alQuitar( String elemento )
+    {
+        conteo.computeIfPresent( plegar( elemento ), ( llave, cantidad ) -> cantidad > 1 ? cantidad - 1 : null );
+    }
+
+    @Override
+    protected void alLimpiar( )
+    {
+        conteo.clear( );
+    }
+}
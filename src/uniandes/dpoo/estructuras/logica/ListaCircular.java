@@ -0,0 +1,183 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Lista de capacidad fija implementada sobre un buffer circular.
+ *
+ * Mientras la lista no esté llena se comporta como cualquier otra lista. Cuando está llena, agregar un elemento al final sobrescribe el elemento más antiguo (el
+ * primero de la lista), de modo que la lista siempre contiene los últimos valores agregados.
+ *
+ * Agregar al final y eliminar el primer elemento cuestan O(1). Insertar o eliminar en posiciones intermedias cuesta O(n), igual que en un ArrayList.
+ * @param <E> El tipo de los elementos de la lista
+ */
+public class ListaCircular<E> extends AbstractList<E> implements RandomAccess
+{
+    /**
+     * El buffer donde se almacenan los elementos
+     */
+    private Object[] elementos;
+
+    /**
+     * La posición dentro del buffer donde se encuentra el primer elemento de la lista
+     */
+    private int inicio;
+
+    /**
+     * La cantidad de elementos que hay en la lista
+     */
+    private int cantidad;
+
+    /**
+     * Crea una nueva lista circular vacía
+     * @param capacidad La cantidad máxima de elementos que puede tener la lista. Debe ser mayor a 0.
+     */
+    public ListaCircular( int capacidad )
+    {
+        if( capacidad <= 0 )
+            throw new IllegalArgumentException( "La capacidad debe ser mayor a 0: " + capacidad );
+        elementos = new Object[capacidad];
+        inicio = 0;
+        cantidad = 0;
+    }
+
+    /**
+     * Retorna la cantidad máxima de elementos que puede tener la lista
+     * @return La capacidad de la lista
+     */
+    public int getCapacidad( )
+    {
+        return elementos.length;
+    }
+
+    /**
+     * Indica si la lista ya alcanzó su capacidad, es decir si el próximo elemento agregado al final sobrescribirá al más antiguo
+     * @return True si la lista está llena
+     */
+    public boolean estaLlena( )
+    {
+        return cantidad == elementos.length;
+    }
+
+    /**
+     * Convierte una posición de la lista en una posición dentro del buffer
+     */
+    private int posicionEnBuffer( int posicion )
+    {
+        int p = inicio + posicion;
+        return p >= elementos.length ? p - elementos.length : p;
+    }
+
+    private void verificarPosicion( int posicion )
+    {
+        if( posicion < 0 || posicion >= cantidad )
+            throw new IndexOutOfBoundsException( "Posición: " + posicion + ", tamaño: " + cantidad );
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get( int posicion )
+    {
+        verificarPosicion( posicion );
+        return ( E )elementos[ posicionEnBuffer( posicion ) ];
+    }
+
+    @Override
+    public E set( int posicion, E elemento )
+    {
+        E anterior = get( posicion );
+        elementos[ posicionEnBuffer( posicion ) ] = elemento;
+        return anterior;
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista. Si la lista está llena, el elemento más antiguo se descarta.
+     */
+    @Override
+    public boolean add( E elemento )
+    {
+        modCount++;
+        if( cantidad == elementos.length )
+        {
+            elementos[ inicio ] = elemento;
+            inicio = posicionEnBuffer( 1 );
+        }
+        else
+        {
+            elementos[ posicionEnBuffer( cantidad ) ] = elemento;
+            cantidad++;
+        }
+        return true;
+    }
+
+    /**
+     * Inserta un elemento en la posición indicada. Si la lista está llena, después de la inserción se descarta el elemento más antiguo.
+     */
+    @Override
+    public void add( int posicion, E elemento )
+    {
+        if( posicion < 0 || posicion > cantidad )
+            throw new IndexOutOfBoundsException( "Posición: " + posicion + ", tamaño: " + cantidad );
+        if( posicion == cantidad )
+        {
+            add( elemento );
+            return;
+        }
+        if( cantidad == elementos.length )
+        {
+            // Insertar en la primera posición de una lista llena equivale a descartar el elemento enseguida
+            if( posicion == 0 )
+                return;
+            remove( 0 );
+            posicion--;
+        }
+        modCount++;
+        for( int i = cantidad; i > posicion; i-- )
+        {
+            elementos[ posicionEnBuffer( i ) ] = elementos[ posicionEnBuffer( i - 1 ) ];
+        }
+        elementos[ posicionEnBuffer( posicion ) ] = elemento;
+        cantidad++;
+    }
+
+    @Override
+    public E remove( int posicion )
+    {
+        E eliminado = get( posicion );
+        modCount++;
+        if( posicion == 0 )
+        {
+            elementos[ inicio ] = null;
+            inicio = posicionEnBuffer( 1 );
+        }
+        else
+        {
+            for( int i = posicion; i < cantidad - 1; i++ )
+            {
+                elementos[ posicionEnBuffer( i ) ] = elementos[ posicionEnBuffer( i + 1 ) ];
+            }
+            elementos[ posicionEnBuffer( cantidad - 1 ) ] = null;
+        }
+        cantidad--;
+        return eliminado;
+    }
+
+    @Override
+    public void clear( )
+    {
+        modCount++;
+        for( int i = 0; i < cantidad; i++ )
+        {
+            elementos[ posicionEnBuffer( i ) ] = null;
+        }
+        inicio = 0;
+        cantidad = 0;
+    }
+}
@@ -0,0 +1,148 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractSequentialList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+
+/**
+ * Vista de sólo lectura de un conjunto ordenado como una lista, en el orden del conjunto.
+ *
+ * La vista no copia las cadenas: cada recorrido lee directamente el conjunto, así que refleja sus cambios. Recorrer la lista con iterator (o un for each)
+ * usa el iterador del conjunto; los ListIterator se mueven con higher y lower, y acceder por posición cuesta lo mismo que recorrer la lista hasta esa
+ * posición.
+ */
+final class ListaDeConjunto extends AbstractSequentialList<String>
+{
+    private final NavigableSet<String> conjunto;
+
+    ListaDeConjunto( NavigableSet<String> conjunto )
+    {
+        this.conjunto = conjunto;
+    }
+
+    @Override
+    public int size( )
+    {
+        return conjunto.size( );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return conjunto.isEmpty( );
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        return conjunto.contains( o );
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return Collections.unmodifiableCollection( conjunto ).iterator( );
+    }
+
+    @Override
+    public ListIterator<String> listIterator( int indice )
+    {
+        if( indice < 0 )
+            throw new IndexOutOfBoundsException( "Posición: " + indice );
+        IteradorLista iterador = new IteradorLista( );
+        for( int i = 0; i < indice; i++ )
+        {
+            if( !iterador.hasNext( ) )
+                throw new IndexOutOfBoundsException( "Posición: " + indice + ", tamaño: " + i );
+            iterador.next( );
+        }
+        return iterador;
+    }
+
+    /**
+     * Iterador que se ubica entre dos cadenas del conjunto y se mueve buscando la siguiente o la anterior
+     */
+    private final class IteradorLista implements ListIterator<String>
+    {
+        /**
+         * La cadena que retornaría next, o null si el iterador está al final
+         */
+        private String siguiente;
+
+        private int indice;
+
+        private IteradorLista( )
+        {
+            siguiente = conjunto.isEmpty( ) ? null : conjunto.first( );
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return siguiente != null;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( siguiente == null )
+                throw new NoSuchElementException( );
+            String actual = siguiente;
+            siguiente = conjunto.higher( actual );
+            indice++;
+            return actual;
+        }
+
+        @Override
+        public boolean hasPrevious( )
+        {
+            return indice > 0;
+        }
+
+        @Override
+        public String previous( )
+        {
+            if( indice == 0 )
+                throw new NoSuchElementException( );
+            String anterior = siguiente == null ? conjunto.last( ) : conjunto.lower( siguiente );
+            if( anterior == null )
+                throw new NoSuchElementException( );
+            siguiente = anterior;
+            indice--;
+            return anterior;
+        }
+
+        @Override
+        public int nextIndex( )
+        {
+            return indice;
+        }
+
+        @Override
+        public int previousIndex( )
+        {
+            return indice - 1;
+        }
+
+        @Override
+        public void remove( )
+        {
+            throw new UnsupportedOperationException( );
+        }
+
+        @Override
+        public void set( String cadena )
+        {
+            throw new UnsupportedOperationException( );
+        }
+
+        @Override
+        public void add( String cadena )
+        {
+            throw new UnsupportedOperationException( );
+        }
+    }
+}
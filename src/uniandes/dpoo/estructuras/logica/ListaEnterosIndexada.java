@@ -0,0 +1,151 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista de enteros que mantiene actualizada la cantidad de apariciones de cada valor.
+ *
+ * Contar las apariciones de un valor y contar cuántos valores están repetidos cuesta O(1), a cambio de actualizar un mapa de enteros primitivos en cada
+ * modificación de la lista.
+ */
+public class ListaEnterosIndexada extends ListaIndexada<Integer> implements RandomAccess
+{
+    /**
+     * La cantidad de apariciones de cada valor de la lista
+     */
+    private final ConteoEnteros conteo;
+
+    /**
+     * Los k valores más grandes de la lista, o null si no se están siguiendo
+     */
+    private MonticuloMayores mayores;
+
+    /**
+     * Indica si el montículo de mayores corresponde al contenido actual de la lista. Cuando sale de la lista un valor que podría estar entre los mayores, el
+     * montículo se reconstruye la próxima vez que se consulte.
+     */
+    private boolean mayoresVigentes;
+
+    /**
+     * Crea una nueva lista indexada sobre la lista dada
+     * @param respaldo La lista donde se almacenarán los enteros. Debe ser de acceso aleatorio.
+     */
+    public ListaEnterosIndexada( List<Integer> respaldo )
+    {
+        super( respaldo );
+        if( ! ( respaldo instanceof RandomAccess ) )
+            throw new IllegalArgumentException( "La lista de respaldo debe ser de acceso aleatorio" );
+        conteo = new ConteoEnteros( );
+        indexarContenido( );
+    }
+
+    /**
+     * Retorna la cantidad de veces que aparece el valor en la lista
+     * @param valor El valor buscado
+     * @return La cantidad de apariciones
+     */
+    public int contar( int valor )
+    {
+        return conteo.contar( valor );
+    }
+
+    /**
+     * Retorna la cantidad de valores distintos que aparecen más de una vez en la lista
+     * @return La cantidad de valores repetidos
+     */
+    public int getCantidadRepetidos( )
+    {
+        return conteo.getRepetidos( );
+    }
+
+    /**
+     * Empieza a mantener actualizados los k valores más grandes de la lista. Desde ese momento, agregar un valor actualiza los mayores en O(log k).
+     * @param k La cantidad de valores más grandes que se van a seguir
+     */
+    public void seguirMayores( int k )
+    {
+        mayores = new MonticuloMayores( k );
+        reconstruirMayores( );
+    }
+
+    /**
+     * Deja de mantener actualizados los valores más grandes de la lista
+     */
+    public void dejarDeSeguirMayores( )
+    {
+        mayores = null;
+    }
+
+    /**
+     * Retorna los valores más grandes de la lista, de MAYOR a MENOR, si se están siguiendo con seguirMayores
+     * @return Los k valores más grandes (o todos, si la lista tiene menos de k valores), o null si no se están siguiendo
+     */
+    public int[] getMayoresSeguidos( )
+    {
+        return getMayoresSeguidos( Integer.MAX_VALUE );
+    }
+
+    /**
+     * Retorna los primeros valores más grandes de la lista, de MAYOR a MENOR, si se están siguiendo con seguirMayores.
+     * 
+     * Mientras la lista no cambie, los mayores ya están ordenados y la consulta sólo los copia.
+     * @param limite La cantidad máxima de valores que se quieren obtener
+     * @return Los 'limite' valores más grandes entre los que se siguen, o null si no se están siguiendo
+     */
+    public int[] getMayoresSeguidos( int limite )
+    {
+        if( mayores == null )
+            return null;
+        if( !mayoresVigentes )
+            reconstruirMayores( );
+        return mayores.getMayoresAMenores( limite );
+    }
+
+    /**
+     * Retorna la cantidad de mayores que se están siguiendo
+     * @return El valor de k usado en seguirMayores, o -1 si no se están siguiendo
+     */
+    public int getKSeguido( )
+    {
+        return mayores == null ? -1 : mayores.getK( );
+    }
+
+    private void reconstruirMayores( )
+    {
+        mayores.limpiar( );
+        for( Integer valor : respaldo )
+        {
+            mayores.ofrecer( valor );
+        }
+        mayoresVigentes = true;
+    }
+
+    @Override
+    protected void alAgregar( Integer elemento )
+    {
+        conteo.incrementar( elemento );
+        if( mayores != null && mayoresVigentes )
+            mayores.ofrecer( elemento );
+    }
+
+    @Override
+    protected void alQuitar( Integer elemento )
+    {
+        conteo.decrementar( elemento );
+        // Si el valor que sale podría estar entre los mayores, hay que reconstruirlos
+        if( mayores != null && mayoresVigentes && ( !mayores.estaLleno( ) || ( mayores.getCantidad( ) > 0 && elemento >= mayores.getMinimo( ) ) ) )
+            mayoresVigentes = false;
+    }
+
+    @Override
+    protected void alLimpiar( )
+    {
+        conteo.limpiar( );
+        if( mayores != null )
+        {
+            mayores.limpiar( );
+            mayoresVigentes = true;
+        }
+    }
+}
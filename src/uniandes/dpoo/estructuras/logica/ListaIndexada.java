@@ -0,0 +1,284 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lista que delega el almacenamiento en otra lista y avisa a sus subclases cada vez que un elemento entra o sale, para que puedan mantener índices
+ * auxiliares sincronizados con el contenido.
+ *
+ * Todas las formas de modificar la lista (incluyendo iteradores, removeIf y replaceAll) pasan por los métodos alAgregar y alQuitar.
+ *
+ * Si la lista de respaldo es una ListaCircular llena, agregar un elemento descarta el más antiguo y ese elemento también se reporta con alQuitar.
+ * @param <E> El tipo de los elementos de la lista
+ */
+public abstract class ListaIndexada<E> extends AbstractList<E>
+{
+    /**
+     * La lista donde realmente se almacenan los elementos
+     */
+    protected final List<E> respaldo;
+
+    /**
+     * Crea una nueva lista indexada sobre la lista dada. Para registrar los elementos que ya estén en la lista de respaldo, las subclases deben invocar
+     * indexarContenido.
+     * @param respaldo La lista donde se almacenarán los elementos
+     */
+    protected ListaIndexada( List<E> respaldo )
+    {
+        this.respaldo = respaldo;
+    }
+
+    /**
+     * Registra en los índices todos los elementos que ya están en la lista de respaldo. Las subclases deben invocarlo al final de su constructor.
+     */
+    protected final void indexarContenido( )
+    {
+        for( E elemento : respaldo )
+        {
+            alAgregar( elemento );
+        }
+    }
+
+    /**
+     * Se invoca cada vez que un elemento entra a la lista
+     * @param elemento El elemento que entró
+     */
+    protected abstract void alAgregar( E elemento );
+
+    /**
+     * Se invoca cada vez que un elemento sale de la lista
+     * @param elemento El elemento que salió
+     */
+    protected abstract void alQuitar( E elemento );
+
+    /**
+     * Se invoca cuando la lista se vacía por completo
+     */
+    protected abstract void alLimpiar( );
+
+    @Override
+    public E get( int posicion )
+    {
+        return respaldo.get( posicion );
+    }
+
+    @Override
+    public int size( )
+    {
+        return respaldo.size( );
+    }
+
+    @Override
+    public E set( int posicion, E elemento )
+    {
+        E anterior = respaldo.set( posicion, elemento );
+        alQuitar( anterior );
+        alAgregar( elemento );
+        return anterior;
+    }
+
+    @Override
+    public boolean add( E elemento )
+    {
+        modCount++;
+        int antes = respaldo.size( );
+        E primero = antes > 0 ? respaldo.get( 0 ) : null;
+        respaldo.add( elemento );
+        alAgregar( elemento );
+        // Si el tamaño no cambió, la lista de respaldo tiene capacidad fija y descartó su elemento más antiguo
+        if( respaldo.size( ) == antes )
+            alQuitar( primero );
+        return true;
+    }
+
+    @Override
+    public void add( int posicion, E elemento )
+    {
+        modCount++;
+        int antes = respaldo.size( );
+        E primero = antes > 0 ? respaldo.get( 0 ) : null;
+        respaldo.add( posicion, elemento );
+        if( respaldo.size( ) > antes )
+        {
+            alAgregar( elemento );
+        }
+        else if( posicion != 0 )
+        {
+            // La lista de respaldo está llena: insertó el elemento y descartó el más antiguo (al insertar en la posición 0 descarta el nuevo elemento)
+            alAgregar( elemento );
+            alQuitar( primero );
+        }
+    }
+
+    @Override
+    public boolean addAll( Collection<? extends E> elementos )
+    {
+        if( respaldo instanceof ListaCircular )
+            return super.addAll( elementos );
+        modCount++;
+        for( E elemento : elementos )
+        {
+            alAgregar( elemento );
+        }
+        return respaldo.addAll( elementos );
+    }
+
+    /**
+     * Reserva espacio para que la lista llegue a tener la cantidad de elementos dada sin volver a crecer. Sólo tiene efecto si la lista de respaldo es un
+     * ArrayList.
+     * @param cantidad La cantidad total de elementos que se espera tener
+     */
+    public void reservar( int cantidad )
+    {
+        if( respaldo instanceof ArrayList )
+            ( ( ArrayList<E> )respaldo ).ensureCapacity( cantidad );
+    }
+
+    @Override
+    public E remove( int posicion )
+    {
+        modCount++;
+        E eliminado = respaldo.remove( posicion );
+        alQuitar( eliminado );
+        return eliminado;
+    }
+
+    @Override
+    public boolean removeIf( Predicate<? super E> filtro )
+    {
+        modCount++;
+        return respaldo.removeIf( elemento -> {
+            if( filtro.test( elemento ) )
+            {
+                alQuitar( elemento );
+                return true;
+            }
+            return false;
+        } );
+    }
+
+    @Override
+    public void replaceAll( UnaryOperator<E> operador )
+    {
+        modCount++;
+        respaldo.replaceAll( elemento -> {
+            E nuevo = operador.apply( elemento );
+            alQuitar( elemento );
+            alAgregar( nuevo );
+            return nuevo;
+        } );
+    }
+
+    @Override
+    public void sort( Comparator<? super E> comparador )
+    {
+        modCount++;
+        respaldo.sort( comparador );
+    }
+
+    @Override
+    public void clear( )
+    {
+        modCount++;
+        respaldo.clear( );
+        alLimpiar( );
+    }
+
+    @Override
+    public Iterator<E> iterator( )
+    {
+        return listIterator( 0 );
+    }
+
+    @Override
+    public ListIterator<E> listIterator( int posicion )
+    {
+        return new IteradorIndexado( respaldo.listIterator( posicion ) );
+    }
+
+    /**
+     * Iterador que recorre directamente la lista de respaldo (para no depender de get en listas enlazadas) y reporta los cambios a los índices
+     */
+    private class IteradorIndexado implements ListIterator<E>
+    {
+        private final ListIterator<E> iterador;
+
+        private E ultimo;
+
+        private IteradorIndexado( ListIterator<E> iterador )
+        {
+            this.iterador = iterador;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return iterador.hasNext( );
+        }
+
+        @Override
+        public E next( )
+        {
+            ultimo = iterador.next( );
+            return ultimo;
+        }
+
+        @Override
+        public boolean hasPrevious( )
+        {
+            return iterador.hasPrevious( );
+        }
+
+        @Override
+        public E previous( )
+        {
+            ultimo = iterador.previous( );
+            return ultimo;
+        }
+
+        @Override
+        public int nextIndex( )
+        {
+            return iterador.nextIndex( );
+        }
+
+        @Override
+        public int previousIndex( )
+        {
+            return iterador.previousIndex( );
+        }
+
+        @Override
+        public void remove( )
+        {
+            iterador.remove( );
+            modCount++;
+            alQuitar( ultimo );
+        }
+
+        @Override
+        public void set( E elemento )
+        {
+            iterador.set( elemento );
+            alQuitar( ultimo );
+            alAgregar( elemento );
+            ultimo = elemento;
+        }
+
+        @Override
+        public void add( E elemento )
+        {
+            iterador.add( elemento );
+            modCount++;
+            alAgregar( elemento );
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Lista modificable respaldada por un VectorPersistente.
+ *
+ * Cada modificación reemplaza el vector actual por una nueva versión que comparte su estructura con la anterior, así que obtener una copia de la lista (o la
+ * versión actual del vector) cuesta O(1) y las copias nunca se ven afectadas por cambios posteriores.
+ *
+ * Agregar o quitar al final y reemplazar un elemento cuestan O(log32 n). Insertar o eliminar en posiciones intermedias reconstruye la parte final de la lista.
+ * @param <E> El tipo de los elementos de la lista
+ */
+public class ListaPersistente<E> extends AbstractList<E> implements RandomAccess
+{
+    /**
+     * La versión actual de la lista
+     */
+    private VectorPersistente<E> vector;
+
+    /**
+     * Crea una nueva lista vacía
+     */
+    public ListaPersistente( )
+    {
+        this( VectorPersistente.<E> vacio( ) );
+    }
+
+    /**
+     * Crea una nueva lista cuyo contenido inicial es la versión dada del vector
+     * @param vector La versión inicial de la lista
+     */
+    public ListaPersistente( VectorPersistente<E> vector )
+    {
+        this.vector = vector;
+    }
+
+    /**
+     * Retorna la versión actual de la lista. La versión retornada es inmutable.
+     * @return El vector con el contenido actual de la lista
+     */
+    public VectorPersistente<E> getVersion( )
+    {
+        return vector;
+    }
+
+    /**
+     * Retorna una copia independiente de la lista en O(1). La copia comparte la estructura con esta lista, pero los cambios en una no afectan a la otra.
+     * @return Una nueva lista con el mismo contenido
+     */
+    public ListaPersistente<E> copia( )
+    {
+        return new ListaPersistente<E>( vector );
+    }
+
+    @Override
+    public E get( int posicion )
+    {
+        return vector.obtener( posicion );
+    }
+
+    @Override
+    public E set( int posicion, E elemento )
+    {
+        E anterior = vector.obtener( posicion );
+        vector = vector.asignar( posicion, elemento );
+        return anterior;
+    }
+
+    @Override
+    public int size( )
+    {
+        return vector.tamanio( );
+    }
+
+    @Override
+    public boolean add( E elemento )
+    {
+        modCount++;
+        vector = vector.agregar( elemento );
+        return true;
+    }
+
+    @Override
+    public void add( int posicion, E elemento )
+    {
+        int cantidad = vector.tamanio( );
+        if( posicion < 0 || posicion > cantidad )
+            throw new IndexOutOfBoundsException( "Posición: " + posicion + ", tamaño: " + cantidad );
+        modCount++;
+        Object[] finales = quitarDesde( posicion );
+        vector = agregarDesde( vector.agregar( elemento ), finales, 0 );
+    }
+
+    @Override
+    public E remove( int posicion )
+    {
+        E eliminado = vector.obtener( posicion );
+        modCount++;
+        Object[] finales = quitarDesde( posicion );
+        vector = agregarDesde( vector, finales, 1 );
+        return eliminado;
+    }
+
+    @Override
+    public void clear( )
+    {
+        modCount++;
+        vector = VectorPersistente.vacio( );
+    }
+
+    /**
+     * Quita del vector actual los elementos desde la posición dada hasta el final y los retorna en orden
+     */
+    private Object[] quitarDesde( int posicion )
+    {
+        int cantidad = vector.tamanio( );
+        Object[] finales = new Object[cantidad - posicion];
+        for( int i = cantidad - 1; i >= posicion; i-- )
+        {
+            finales[ i - posicion ] = vector.obtener( i );
+            vector = vector.quitarUltimo( );
+        }
+        return finales;
+    }
+
+    /**
+     * Agrega a la versión dada, en orden, los elementos del arreglo a partir de la posición indicada
+     */
+    @SuppressWarnings("unchecked")
+    private VectorPersistente<E> agregarDesde( VectorPersistente<E> base, Object[] elementos, int desde )
+    {
+        VectorPersistente<E> resultado = base;
+        for( int i = desde; i < elementos.length; i++ )
+        {
+            resultado = resultado.agregar( ( E )elementos[ i ] );
+        }
+        return resultado;
+    }
+}
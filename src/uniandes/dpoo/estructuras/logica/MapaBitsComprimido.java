@@ -0,0 +1,1051 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Conjunto ordenado de enteros almacenado como un mapa de bits comprimido, al estilo de Roaring.
+ *
+ * Los enteros se agrupan por sus 16 bits altos. Cada grupo guarda sus 16 bits bajos en el contenedor que ocupe menos memoria según cuántos valores tiene y
+ * cómo están distribuidos:
+ * <ul>
+ * <li>Un arreglo ordenado de valores de 16 bits, para grupos con hasta 4096 valores (2 bytes por valor).</li>
+ * <li>Un mapa de bits de 65536 bits, para grupos con más valores (8KB sin importar cuántos valores tenga).</li>
+ * <li>Una lista de rachas de valores consecutivos (inicio y longitud), para grupos con pocos tramos largos. Estos contenedores sólo se crean al invocar
+ * optimizar.</li>
+ * </ul>
+ * Así, un conjunto de identificadores ocupa unos pocos bytes por valor (o una fracción de bit por valor, si son consecutivos), mucho menos que un TreeSet,
+ * y las uniones e intersecciones se hacen contenedor por contenedor, operando sobre palabras de 64 bits cuando hay mapas de bits.
+ *
+ * El orden de los enteros es el orden usual (con signo).
+ */
+public class MapaBitsComprimido
+{
+    /**
+     * La mayor cantidad de valores que puede tener un contenedor de arreglo. A partir de ahí un mapa de bits ocupa menos memoria.
+     */
+    private static final int MAXIMO_ARREGLO = 4096;
+
+    /**
+     * Los 16 bits altos (con signo) de cada grupo, en orden
+     */
+    private int[] claves;
+
+    /**
+     * El contenedor de cada grupo
+     */
+    private Contenedor[] contenedores;
+
+    /**
+     * La cantidad de grupos
+     */
+    private int grupos;
+
+    /**
+     * La cantidad de enteros del conjunto
+     */
+    private long cantidad;
+
+    /**
+     * Crea un conjunto vacío
+     */
+    public MapaBitsComprimido( )
+    {
+        claves = new int[4];
+        contenedores = new Contenedor[4];
+    }
+
+    /**
+     * Crea un conjunto con los enteros dados
+     * @param enteros Los enteros del conjunto, en cualquier orden y posiblemente repetidos
+     */
+    public MapaBitsComprimido( int[] enteros )
+    {
+        this( );
+        int[] ordenados = enteros.clone( );
+        Arrays.sort( ordenados );
+        for( int entero : ordenados )
+        {
+            agregar( entero );
+        }
+    }
+
+    private static int alto( int valor )
+    {
+        return valor >> 16;
+    }
+
+    private static int bajo( int valor )
+    {
+        return valor & 0xFFFF;
+    }
+
+    private static int unir( int alto, int bajo )
+    {
+        return ( alto << 16 ) | bajo;
+    }
+
+    /**
+     * Busca el grupo con los bits altos dados
+     * @return La posición del grupo, o (-(posición de inserción) - 1) si no existe
+     */
+    private int buscarGrupo( int alto )
+    {
+        return Arrays.binarySearch( claves, 0, grupos, alto );
+    }
+
+    private void insertarGrupo( int posicion, int alto, Contenedor contenedor )
+    {
+        if( grupos == claves.length )
+        {
+            claves = Arrays.copyOf( claves, 2 * grupos );
+            contenedores = Arrays.copyOf( contenedores, 2 * grupos );
+        }
+        System.arraycopy( claves, posicion, claves, posicion + 1, grupos - posicion );
+        System.arraycopy( contenedores, posicion, contenedores, posicion + 1, grupos - posicion );
+        claves[ posicion ] = alto;
+        contenedores[ posicion ] = contenedor;
+        grupos++;
+    }
+
+    private void eliminarGrupo( int posicion )
+    {
+        System.arraycopy( claves, posicion + 1, claves, posicion, grupos - posicion - 1 );
+        System.arraycopy( contenedores, posicion + 1, contenedores, posicion, grupos - posicion - 1 );
+        grupos--;
+        contenedores[ grupos ] = null;
+    }
+
+    /**
+     * Agrega un entero al conjunto
+     * @param valor El entero que se va a agregar
+     * @return True si el entero no estaba en el conjunto
+     */
+    public boolean agregar( int valor )
+    {
+        int i = buscarGrupo( alto( valor ) );
+        if( i < 0 )
+        {
+            ContenedorArreglo nuevo = new ContenedorArreglo( );
+            nuevo.agregar( bajo( valor ) );
+            insertarGrupo( -i - 1, alto( valor ), nuevo );
+            cantidad++;
+            return true;
+        }
+        Contenedor contenedor = contenedores[ i ];
+        int antes = contenedor.cardinalidad( );
+        contenedores[ i ] = contenedor.agregar( bajo( valor ) );
+        if( contenedores[ i ].cardinalidad( ) == antes )
+            return false;
+        cantidad++;
+        return true;
+    }
+
+    /**
+     * Elimina un entero del conjunto
+     * @param valor El entero que se va a eliminar
+     * @return True si el entero estaba en el conjunto
+     */
+    public boolean quitar( int valor )
+    {
+        int i = buscarGrupo( alto( valor ) );
+        if( i < 0 )
+            return false;
+        Contenedor contenedor = contenedores[ i ];
+        int antes = contenedor.cardinalidad( );
+        Contenedor resultado = contenedor.quitar( bajo( valor ) );
+        if( resultado.cardinalidad( ) == antes )
+            return false;
+        if( resultado.cardinalidad( ) == 0 )
+            eliminarGrupo( i );
+        else
+            contenedores[ i ] = resultado;
+        cantidad--;
+        return true;
+    }
+
+    /**
+     * Indica si el entero está en el conjunto
+     * @param valor El entero buscado
+     * @return True si el entero está en el conjunto
+     */
+    public boolean contiene( int valor )
+    {
+        int i = buscarGrupo( alto( valor ) );
+        return i >= 0 && contenedores[ i ].contiene( bajo( valor ) );
+    }
+
+    /**
+     * Retorna la cantidad de enteros del conjunto
+     * @return La cantidad de enteros
+     */
+    public long getCantidad( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Indica si el conjunto está vacío
+     * @return True si el conjunto no tiene enteros
+     */
+    public boolean estaVacio( )
+    {
+        return grupos == 0;
+    }
+
+    /**
+     * Elimina todos los enteros del conjunto
+     */
+    public void limpiar( )
+    {
+        Arrays.fill( contenedores, 0, grupos, null );
+        grupos = 0;
+        cantidad = 0;
+    }
+
+    /**
+     * Retorna el menor entero del conjunto
+     * @return El menor entero
+     * @throws NoSuchElementException Si el conjunto está vacío
+     */
+    public int minimo( )
+    {
+        if( grupos == 0 )
+            throw new NoSuchElementException( );
+        return unir( claves[ 0 ], contenedores[ 0 ].minimo( ) );
+    }
+
+    /**
+     * Retorna el mayor entero del conjunto
+     * @return El mayor entero
+     * @throws NoSuchElementException Si el conjunto está vacío
+     */
+    public int maximo( )
+    {
+        if( grupos == 0 )
+            throw new NoSuchElementException( );
+        return unir( claves[ grupos - 1 ], contenedores[ grupos - 1 ].maximo( ) );
+    }
+
+    /**
+     * Retorna el menor entero del conjunto que es mayor o igual al dado
+     * @param valor El valor de referencia
+     * @return El menor entero mayor o igual, o null si no hay ninguno
+     */
+    public Integer techo( int valor )
+    {
+        int i = buscarGrupo( alto( valor ) );
+        if( i >= 0 )
+        {
+            int encontrado = contenedores[ i ].techo( bajo( valor ) );
+            if( encontrado >= 0 )
+                return unir( claves[ i ], encontrado );
+            i++;
+        }
+        else
+        {
+            i = -i - 1;
+        }
+        return i < grupos ? unir( claves[ i ], contenedores[ i ].minimo( ) ) : null;
+    }
+
+    /**
+     * Retorna el mayor entero del conjunto que es menor o igual al dado
+     * @param valor El valor de referencia
+     * @return El mayor entero menor o igual, o null si no hay ninguno
+     */
+    public Integer piso( int valor )
+    {
+        int i = buscarGrupo( alto( valor ) );
+        if( i >= 0 )
+        {
+            int encontrado = contenedores[ i ].piso( bajo( valor ) );
+            if( encontrado >= 0 )
+                return unir( claves[ i ], encontrado );
+            i--;
+        }
+        else
+        {
+            i = -i - 2;
+        }
+        return i >= 0 ? unir( claves[ i ], contenedores[ i ].maximo( ) ) : null;
+    }
+
+    /**
+     * Retorna un iterador sobre los enteros del conjunto, de menor a mayor
+     * @return Un iterador sobre los enteros
+     */
+    public PrimitiveIterator.OfInt iterador( )
+    {
+        return new Recorrido( 0, grupos == 0 ? -1 : contenedores[ 0 ].minimo( ) );
+    }
+
+    /**
+     * Retorna un iterador sobre los enteros del conjunto que son mayores o iguales al dado, de menor a mayor
+     * @param desde El primer valor que puede retornar el iterador
+     * @return Un iterador sobre los enteros desde el valor dado
+     */
+    public PrimitiveIterator.OfInt iteradorDesde( int desde )
+    {
+        int i = buscarGrupo( alto( desde ) );
+        if( i >= 0 )
+        {
+            int encontrado = contenedores[ i ].techo( bajo( desde ) );
+            if( encontrado >= 0 )
+                return new Recorrido( i, encontrado );
+            i++;
+        }
+        else
+        {
+            i = -i - 1;
+        }
+        return new Recorrido( i, i < grupos ? contenedores[ i ].minimo( ) : -1 );
+    }
+
+    /**
+     * Recorre los grupos en orden, pidiéndole a cada contenedor el siguiente valor
+     */
+    private final class Recorrido implements PrimitiveIterator.OfInt
+    {
+        private int grupo;
+
+        /**
+         * Los bits bajos del siguiente valor, o -1 si no hay más valores
+         */
+        private int siguiente;
+
+        private Recorrido( int grupo, int siguiente )
+        {
+            this.grupo = grupo;
+            this.siguiente = grupo < grupos ? siguiente : -1;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return siguiente >= 0;
+        }
+
+        @Override
+        public int nextInt( )
+        {
+            if( siguiente < 0 )
+                throw new NoSuchElementException( );
+            int valor = unir( claves[ grupo ], siguiente );
+            siguiente = siguiente == 0xFFFF ? -1 : contenedores[ grupo ].techo( siguiente + 1 );
+            if( siguiente < 0 && ++grupo < grupos )
+                siguiente = contenedores[ grupo ].minimo( );
+            return valor;
+        }
+    }
+
+    /**
+     * Retorna un nuevo conjunto con los enteros que están en alguno de los dos conjuntos
+     * @param a Un conjunto
+     * @param b Otro conjunto
+     * @return La unión de los conjuntos
+     */
+    public static MapaBitsComprimido union( MapaBitsComprimido a, MapaBitsComprimido b )
+    {
+        MapaBitsComprimido resultado = new MapaBitsComprimido( );
+        int i = 0;
+        int j = 0;
+        while( i < a.grupos || j < b.grupos )
+        {
+            if( j == b.grupos || ( i < a.grupos && a.claves[ i ] < b.claves[ j ] ) )
+            {
+                resultado.agregarGrupo( a.claves[ i ], a.contenedores[ i ].copia( ) );
+                i++;
+            }
+            else if( i == a.grupos || b.claves[ j ] < a.claves[ i ] )
+            {
+                resultado.agregarGrupo( b.claves[ j ], b.contenedores[ j ].copia( ) );
+                j++;
+            }
+            else
+            {
+                resultado.agregarGrupo( a.claves[ i ], Contenedor.unir( a.contenedores[ i ], b.contenedores[ j ] ) );
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna un nuevo conjunto con los enteros que están en los dos conjuntos
+     * @param a Un conjunto
+     * @param b Otro conjunto
+     * @return La intersección de los conjuntos
+     */
+    public static MapaBitsComprimido interseccion( MapaBitsComprimido a, MapaBitsComprimido b )
+    {
+        MapaBitsComprimido resultado = new MapaBitsComprimido( );
+        int i = 0;
+        int j = 0;
+        while( i < a.grupos && j < b.grupos )
+        {
+            if( a.claves[ i ] < b.claves[ j ] )
+            {
+                i++;
+            }
+            else if( b.claves[ j ] < a.claves[ i ] )
+            {
+                j++;
+            }
+            else
+            {
+                Contenedor comun = Contenedor.intersecar( a.contenedores[ i ], b.contenedores[ j ] );
+                if( comun.cardinalidad( ) > 0 )
+                    resultado.agregarGrupo( a.claves[ i ], comun );
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Agrega un grupo al final (sus bits altos son mayores que los de todos los grupos actuales)
+     */
+    private void agregarGrupo( int alto, Contenedor contenedor )
+    {
+        insertarGrupo( grupos, alto, contenedor );
+        cantidad += contenedor.cardinalidad( );
+    }
+
+    /**
+     * Cambia cada contenedor por la representación que ocupe menos memoria, incluyendo las rachas de valores consecutivos.
+     *
+     * Conviene invocarlo después de cargar el conjunto, cuando ya no se esperan muchos cambios.
+     */
+    public void optimizar( )
+    {
+        for( int i = 0; i < grupos; i++ )
+        {
+            contenedores[ i ] = contenedores[ i ].optimizar( );
+        }
+    }
+
+    /**
+     * Estima la memoria (en bytes) que ocupa el conjunto, con las mismas suposiciones de ArbolRadix.getBytesEstimados
+     * @return La cantidad aproximada de bytes que ocupa el conjunto
+     */
+    public long getBytesEstimados( )
+    {
+        long bytes = 40 + alinear( 16 + 4L * claves.length ) + alinear( 16 + 4L * contenedores.length );
+        for( int i = 0; i < grupos; i++ )
+        {
+            bytes += contenedores[ i ].bytes( );
+        }
+        return bytes;
+    }
+
+    private static long alinear( long bytes )
+    {
+        return ( bytes + 7 ) & ~7L;
+    }
+
+    /**
+     * Los 16 bits bajos de los enteros de un grupo. Los valores se manejan como int entre 0 y 65535.
+     *
+     * Las operaciones que modifican el contenedor retornan el contenedor que debe quedar en el grupo, que puede ser otro si conviene cambiar de
+     * representación.
+     */
+    private abstract static class Contenedor
+    {
+        abstract int cardinalidad( );
+
+        abstract boolean contiene( int valor );
+
+        abstract Contenedor agregar( int valor );
+
+        abstract Contenedor quitar( int valor );
+
+        abstract int minimo( );
+
+        abstract int maximo( );
+
+        /**
+         * Retorna el menor valor mayor o igual al dado, o -1 si no hay ninguno
+         */
+        abstract int techo( int valor );
+
+        /**
+         * Retorna el mayor valor menor o igual al dado, o -1 si no hay ninguno
+         */
+        abstract int piso( int valor );
+
+        /**
+         * Retorna un mapa de bits nuevo con los mismos valores
+         */
+        abstract ContenedorBits aBits( );
+
+        abstract Contenedor copia( );
+
+        abstract long bytes( );
+
+        /**
+         * Retorna la cantidad de rachas de valores consecutivos
+         */
+        abstract int contarRachas( );
+
+        /**
+         * Retorna el contenedor con los mismos valores que ocupe menos memoria
+         */
+        Contenedor optimizar( )
+        {
+            int cardinalidad = cardinalidad( );
+            long bytesRachas = 4L * contarRachas( );
+            long bytesSinRachas = cardinalidad <= MAXIMO_ARREGLO ? 2L * cardinalidad : 8192;
+            if( bytesRachas < bytesSinRachas )
+                return this instanceof ContenedorRachas ? this : ContenedorRachas.desde( this );
+            if( this instanceof ContenedorRachas )
+                return aBits( ).normalizar( );
+            return this;
+        }
+
+        static Contenedor unir( Contenedor a, Contenedor b )
+        {
+            if( a instanceof ContenedorArreglo && b instanceof ContenedorArreglo && a.cardinalidad( ) + b.cardinalidad( ) <= MAXIMO_ARREGLO )
+                return ( ( ContenedorArreglo )a ).unir( ( ContenedorArreglo )b );
+            ContenedorBits resultado = a.aBits( );
+            resultado.agregarTodos( b );
+            return resultado.normalizar( );
+        }
+
+        static Contenedor intersecar( Contenedor a, Contenedor b )
+        {
+            if( a instanceof ContenedorArreglo )
+                return ( ( ContenedorArreglo )a ).filtrar( b );
+            if( b instanceof ContenedorArreglo )
+                return ( ( ContenedorArreglo )b ).filtrar( a );
+            ContenedorBits resultado = a.aBits( );
+            resultado.retener( b.aBits( ) );
+            return resultado.normalizar( );
+        }
+    }
+
+    /**
+     * Contenedor con los valores en un arreglo ordenado
+     */
+    private static final class ContenedorArreglo extends Contenedor
+    {
+        private char[] valores;
+
+        private int cantidad;
+
+        ContenedorArreglo( )
+        {
+            valores = new char[4];
+        }
+
+        ContenedorArreglo( char[] valores, int cantidad )
+        {
+            this.valores = valores;
+            this.cantidad = cantidad;
+        }
+
+        private int buscar( int valor )
+        {
+            return Arrays.binarySearch( valores, 0, cantidad, ( char )valor );
+        }
+
+        @Override
+        int cardinalidad( )
+        {
+            return cantidad;
+        }
+
+        @Override
+        boolean contiene( int valor )
+        {
+            return buscar( valor ) >= 0;
+        }
+
+        @Override
+        Contenedor agregar( int valor )
+        {
+            int i = buscar( valor );
+            if( i >= 0 )
+                return this;
+            if( cantidad == MAXIMO_ARREGLO )
+                return aBits( ).agregar( valor );
+            i = -i - 1;
+            if( cantidad == valores.length )
+                valores = Arrays.copyOf( valores, Math.min( MAXIMO_ARREGLO, Math.max( 4, 2 * cantidad ) ) );
+            System.arraycopy( valores, i, valores, i + 1, cantidad - i );
+            valores[ i ] = ( char )valor;
+            cantidad++;
+            return this;
+        }
+
+        @Override
+        Contenedor quitar( int valor )
+        {
+            int i = buscar( valor );
+            if( i >= 0 )
+            {
+                System.arraycopy( valores, i + 1, valores, i, cantidad - i - 1 );
+                cantidad--;
+            }
+            return this;
+        }
+
+        @Override
+        int minimo( )
+        {
+            return valores[ 0 ];
+        }
+
+        @Override
+        int maximo( )
+        {
+            return valores[ cantidad - 1 ];
+        }
+
+        @Override
+        int techo( int valor )
+        {
+            int i = buscar( valor );
+            if( i >= 0 )
+                return valor;
+            i = -i - 1;
+            return i < cantidad ? valores[ i ] : -1;
+        }
+
+        @Override
+        int piso( int valor )
+        {
+            int i = buscar( valor );
+            if( i >= 0 )
+                return valor;
+            i = -i - 2;
+            return i >= 0 ? valores[ i ] : -1;
+        }
+
+        @Override
+        ContenedorBits aBits( )
+        {
+            ContenedorBits bits = new ContenedorBits( );
+            for( int i = 0; i < cantidad; i++ )
+            {
+                bits.agregar( valores[ i ] );
+            }
+            return bits;
+        }
+
+        @Override
+        Contenedor copia( )
+        {
+            return new ContenedorArreglo( Arrays.copyOf( valores, Math.max( cantidad, 1 ) ), cantidad );
+        }
+
+        @Override
+        long bytes( )
+        {
+            return 16 + alinear( 16 + 2L * valores.length );
+        }
+
+        @Override
+        int contarRachas( )
+        {
+            int rachas = 0;
+            for( int i = 0; i < cantidad; i++ )
+            {
+                if( i == 0 || valores[ i ] != valores[ i - 1 ] + 1 )
+                    rachas++;
+            }
+            return rachas;
+        }
+
+        /**
+         * Mezcla dos arreglos ordenados que juntos tienen como mucho MAXIMO_ARREGLO valores
+         */
+        ContenedorArreglo unir( ContenedorArreglo otro )
+        {
+            char[] resultado = new char[Math.max( 1, cantidad + otro.cantidad )];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while( i < cantidad || j < otro.cantidad )
+            {
+                if( j == otro.cantidad || ( i < cantidad && valores[ i ] < otro.valores[ j ] ) )
+                {
+                    resultado[ k++ ] = valores[ i++ ];
+                }
+                else if( i == cantidad || otro.valores[ j ] < valores[ i ] )
+                {
+                    resultado[ k++ ] = otro.valores[ j++ ];
+                }
+                else
+                {
+                    resultado[ k++ ] = valores[ i++ ];
+                    j++;
+                }
+            }
+            return new ContenedorArreglo( resultado, k );
+        }
+
+        /**
+         * Retorna un contenedor con los valores de este arreglo que están en el otro contenedor
+         */
+        ContenedorArreglo filtrar( Contenedor otro )
+        {
+            char[] resultado = new char[Math.max( 1, cantidad )];
+            int k = 0;
+            for( int i = 0; i < cantidad; i++ )
+            {
+                if( otro.contiene( valores[ i ] ) )
+                    resultado[ k++ ] = valores[ i ];
+            }
+            return new ContenedorArreglo( resultado, k );
+        }
+    }
+
+    /**
+     * Contenedor con un bit por cada uno de los 65536 valores posibles
+     */
+    private static final class ContenedorBits extends Contenedor
+    {
+        private final long[] palabras;
+
+        private int cantidad;
+
+        ContenedorBits( )
+        {
+            palabras = new long[1024];
+        }
+
+        private ContenedorBits( long[] palabras, int cantidad )
+        {
+            this.palabras = palabras;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        int cardinalidad( )
+        {
+            return cantidad;
+        }
+
+        @Override
+        boolean contiene( int valor )
+        {
+            return ( palabras[ valor >>> 6 ] & ( 1L << valor ) ) != 0;
+        }
+
+        @Override
+        Contenedor agregar( int valor )
+        {
+            long antes = palabras[ valor >>> 6 ];
+            long despues = antes | ( 1L << valor );
+            if( antes != despues )
+            {
+                palabras[ valor >>> 6 ] = despues;
+                cantidad++;
+            }
+            return this;
+        }
+
+        @Override
+        Contenedor quitar( int valor )
+        {
+            long antes = palabras[ valor >>> 6 ];
+            long despues = antes & ~( 1L << valor );
+            if( antes != despues )
+            {
+                palabras[ valor >>> 6 ] = despues;
+                cantidad--;
+            }
+            return cantidad <= MAXIMO_ARREGLO ? normalizar( ) : this;
+        }
+
+        @Override
+        int minimo( )
+        {
+            return techo( 0 );
+        }
+
+        @Override
+        int maximo( )
+        {
+            return piso( 0xFFFF );
+        }
+
+        @Override
+        int techo( int valor )
+        {
+            int i = valor >>> 6;
+            long palabra = palabras[ i ] & ( -1L << valor );
+            while( palabra == 0 )
+            {
+                if( ++i == palabras.length )
+                    return -1;
+                palabra = palabras[ i ];
+            }
+            return i * 64 + Long.numberOfTrailingZeros( palabra );
+        }
+
+        @Override
+        int piso( int valor )
+        {
+            int i = valor >>> 6;
+            long palabra = palabras[ i ] & ( -1L >>> ( 63 - ( valor & 63 ) ) );
+            while( palabra == 0 )
+            {
+                if( --i < 0 )
+                    return -1;
+                palabra = palabras[ i ];
+            }
+            return i * 64 + 63 - Long.numberOfLeadingZeros( palabra );
+        }
+
+        @Override
+        ContenedorBits aBits( )
+        {
+            return new ContenedorBits( palabras.clone( ), cantidad );
+        }
+
+        @Override
+        Contenedor copia( )
+        {
+            return aBits( );
+        }
+
+        @Override
+        long bytes( )
+        {
+            return 16 + 16 + 8L * palabras.length;
+        }
+
+        @Override
+        int contarRachas( )
+        {
+            int rachas = 0;
+            long anterior = 0;
+            for( long palabra : palabras )
+            {
+                // Un bit inicia una racha si el bit anterior (que puede estar en la palabra anterior) está apagado
+                long inicios = palabra & ~( ( palabra << 1 ) | ( anterior >>> 63 ) );
+                rachas += Long.bitCount( inicios );
+                anterior = palabra;
+            }
+            return rachas;
+        }
+
+        /**
+         * Agrega los valores del otro contenedor
+         */
+        void agregarTodos( Contenedor otro )
+        {
+            if( otro instanceof ContenedorBits )
+            {
+                long[] otras = ( ( ContenedorBits )otro ).palabras;
+                int total = 0;
+                for( int i = 0; i < palabras.length; i++ )
+                {
+                    palabras[ i ] |= otras[ i ];
+                    total += Long.bitCount( palabras[ i ] );
+                }
+                cantidad = total;
+                return;
+            }
+            for( int valor = otro.techo( 0 ); valor >= 0; valor = valor == 0xFFFF ? -1 : otro.techo( valor + 1 ) )
+            {
+                agregar( valor );
+            }
+        }
+
+        /**
+         * Deja sólo los valores que también están en el otro mapa de bits
+         */
+        void retener( ContenedorBits otro )
+        {
+            int total = 0;
+            for( int i = 0; i < palabras.length; i++ )
+            {
+                palabras[ i ] &= otro.palabras[ i ];
+                total += Long.bitCount( palabras[ i ] );
+            }
+            cantidad = total;
+        }
+
+        /**
+         * Retorna un arreglo con los mismos valores si tiene pocos valores, o este mismo contenedor si no
+         */
+        Contenedor normalizar( )
+        {
+            if( cantidad > MAXIMO_ARREGLO )
+                return this;
+            char[] valores = new char[Math.max( 1, cantidad )];
+            int k = 0;
+            for( int i = 0; i < palabras.length; i++ )
+            {
+                long palabra = palabras[ i ];
+                while( palabra != 0 )
+                {
+                    valores[ k++ ] = ( char ) ( i * 64 + Long.numberOfTrailingZeros( palabra ) );
+                    palabra &= palabra - 1;
+                }
+            }
+            return new ContenedorArreglo( valores, k );
+        }
+    }
+
+    /**
+     * Contenedor con los valores agrupados en rachas de valores consecutivos. Es de sólo lectura: para modificarlo se convierte en otro contenedor.
+     */
+    private static final class ContenedorRachas extends Contenedor
+    {
+        /**
+         * El primer valor de cada racha, en orden
+         */
+        private final char[] inicios;
+
+        /**
+         * La longitud de cada racha menos 1 (así cabe una racha de 65536 valores)
+         */
+        private final char[] largos;
+
+        private final int cantidad;
+
+        private ContenedorRachas( char[] inicios, char[] largos )
+        {
+            this.inicios = inicios;
+            this.largos = largos;
+            int total = 0;
+            for( char largo : largos )
+            {
+                total += largo + 1;
+            }
+            this.cantidad = total;
+        }
+
+        static ContenedorRachas desde( Contenedor contenedor )
+        {
+            int rachas = contenedor.contarRachas( );
+            char[] inicios = new char[rachas];
+            char[] largos = new char[rachas];
+            int k = -1;
+            int anterior = -2;
+            for( int valor = contenedor.minimo( ); valor >= 0; valor = valor == 0xFFFF ? -1 : contenedor.techo( valor + 1 ) )
+            {
+                if( valor != anterior + 1 )
+                    inicios[ ++k ] = ( char )valor;
+                else
+                    largos[ k ]++;
+                anterior = valor;
+            }
+            return new ContenedorRachas( inicios, largos );
+        }
+
+        /**
+         * Retorna la posición de la última racha que empieza en el valor dado o antes, o -1 si no hay ninguna
+         */
+        private int buscarRacha( int valor )
+        {
+            int i = Arrays.binarySearch( inicios, ( char )valor );
+            return i >= 0 ? i : -i - 2;
+        }
+
+        private int fin( int racha )
+        {
+            return inicios[ racha ] + largos[ racha ];
+        }
+
+        @Override
+        int cardinalidad( )
+        {
+            return cantidad;
+        }
+
+        @Override
+        boolean contiene( int valor )
+        {
+            int i = buscarRacha( valor );
+            return i >= 0 && valor <= fin( i );
+        }
+
+        /**
+         * Retorna un contenedor modificable con los mismos valores
+         */
+        private Contenedor modificable( )
+        {
+            return aBits( ).normalizar( );
+        }
+
+        @Override
+        Contenedor agregar( int valor )
+        {
+            return contiene( valor ) ? this : modificable( ).agregar( valor );
+        }
+
+        @Override
+        Contenedor quitar( int valor )
+        {
+            return contiene( valor ) ? modificable( ).quitar( valor ) : this;
+        }
+
+        @Override
+        int minimo( )
+        {
+            return inicios[ 0 ];
+        }
+
+        @Override
+        int maximo( )
+        {
+            return fin( inicios.length - 1 );
+        }
+
+        @Override
+        int techo( int valor )
+        {
+            int i = buscarRacha( valor );
+            if( i >= 0 && valor <= fin( i ) )
+                return valor;
+            return i + 1 < inicios.length ? inicios[ i + 1 ] : -1;
+        }
+
+        @Override
+        int piso( int valor )
+        {
+            int i = buscarRacha( valor );
+            return i >= 0 ? Math.min( valor, fin( i ) ) : -1;
+        }
+
+        @Override
+        ContenedorBits aBits( )
+        {
+            ContenedorBits bits = new ContenedorBits( );
+            for( int i = 0; i < inicios.length; i++ )
+            {
+                for( int valor = inicios[ i ]; valor <= fin( i ); valor++ )
+                {
+                    bits.agregar( valor );
+                }
+            }
+            return bits;
+        }
+
+        @Override
+        Contenedor copia( )
+        {
+            return this;
+        }
+
+        @Override
+        long bytes( )
+        {
+            return 24 + 2 * alinear( 16 + 2L * inicios.length );
+        }
+
+        @Override
+        int contarRachas( )
+        {
+            return inicios.length;
+        }
+    }
+}
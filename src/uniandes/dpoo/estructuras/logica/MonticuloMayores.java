@@ -0,0 +1,181 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+
+/**
+ * Montículo de mínimos de enteros primitivos con capacidad fija, que conserva los k valores más grandes que se le han ofrecido.
+ *
+ * La raíz es el menor de los valores conservados, así que ofrecer un valor cuesta O(log k): si no supera a la raíz se descarta sin más, y si la supera la
+ * reemplaza.
+ *
+ * El arreglo de valores crece a medida que se ofrecen valores, hasta k, así que un k muy grande (por ejemplo Integer.MAX_VALUE, para pedir todos los
+ * valores) sólo ocupa la memoria de los valores que realmente se conservan.
+ *
+ * Los valores ordenados se guardan después de calcularlos la primera vez, y sólo se descartan cuando un valor ofrecido entra al montículo o cuando se
+ * limpia. Así, leerlos varias veces sin cambios en el montículo cuesta sólo copiarlos.
+ */
+public class MonticuloMayores
+{
+    /**
+     * Los valores conservados, organizados como un montículo de mínimos. Sólo las primeras 'cantidad' posiciones son válidas.
+     */
+    private int[] valores;
+
+    /**
+     * La cantidad máxima de valores que se conservan
+     */
+    private final int k;
+
+    /**
+     * La cantidad de valores conservados
+     */
+    private int cantidad;
+
+    /**
+     * Los valores conservados de MAYOR a MENOR, o null si cambiaron desde la última vez que se ordenaron
+     */
+    private int[] ordenados;
+
+    /**
+     * Crea un montículo vacío
+     * @param k La cantidad de valores más grandes que se deben conservar. Debe ser mayor o igual a 0.
+     */
+    public MonticuloMayores( int k )
+    {
+        if( k < 0 )
+            throw new IllegalArgumentException( "k no puede ser negativo: " + k );
+        this.k = k;
+        valores = new int[Math.min( k, 16 )];
+        cantidad = 0;
+    }
+
+    /**
+     * Retorna la cantidad máxima de valores que conserva el montículo
+     * @return El valor de k
+     */
+    public int getK( )
+    {
+        return k;
+    }
+
+    /**
+     * Retorna la cantidad de valores conservados
+     * @return La cantidad de valores, que nunca es mayor a k
+     */
+    public int getCantidad( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Indica si el montículo ya conserva k valores
+     * @return True si está lleno
+     */
+    public boolean estaLleno( )
+    {
+        return cantidad == k;
+    }
+
+    /**
+     * Retorna el menor de los valores conservados
+     * @return El menor valor conservado
+     * @throws IllegalStateException Si el montículo está vacío
+     */
+    public int getMinimo( )
+    {
+        if( cantidad == 0 )
+            throw new IllegalStateException( "El montículo está vacío" );
+        return valores[ 0 ];
+    }
+
+    /**
+     * Ofrece un valor al montículo. El valor se conserva si todavía hay espacio o si es mayor que el menor de los valores conservados.
+     * @param valor El valor ofrecido
+     */
+    public void ofrecer( int valor )
+    {
+        if( cantidad < k )
+        {
+            ordenados = null;
+            if( cantidad == valores.length )
+                valores = Arrays.copyOf( valores, ( int )Math.min( k, 2L * cantidad ) );
+            int i = cantidad++;
+            while( i > 0 )
+            {
+                int padre = ( i - 1 ) >>> 1;
+                if( valores[ padre ] <= valor )
+                    break;
+                valores[ i ] = valores[ padre ];
+                i = padre;
+            }
+            valores[ i ] = valor;
+        }
+        else if( cantidad > 0 && valor > valores[ 0 ] )
+        {
+            ordenados = null;
+            hundir( valor );
+        }
+    }
+
+    /**
+     * Coloca el valor en la raíz y lo hunde hasta su posición
+     */
+    private void hundir( int valor )
+    {
+        int i = 0;
+        int mitad = cantidad >>> 1;
+        while( i < mitad )
+        {
+            int hijo = 2 * i + 1;
+            if( hijo + 1 < cantidad && valores[ hijo + 1 ] < valores[ hijo ] )
+                hijo++;
+            if( valor <= valores[ hijo ] )
+                break;
+            valores[ i ] = valores[ hijo ];
+            i = hijo;
+        }
+        valores[ i ] = valor;
+    }
+
+    /**
+     * Elimina todos los valores conservados
+     */
+    public void limpiar( )
+    {
+        cantidad = 0;
+        ordenados = null;
+    }
+
+    /**
+     * Retorna los valores conservados organizados de MAYOR a MENOR. El montículo no se modifica.
+     * 
+     * Ordenar cuesta O(k log k) la primera vez después de un cambio; las siguientes lecturas sólo copian el resultado en O(k).
+     * @return Un arreglo nuevo con los valores conservados
+     */
+    public int[] getMayoresAMenores( )
+    {
+        return getMayoresAMenores( cantidad );
+    }
+
+    /**
+     * Retorna los primeros valores conservados organizados de MAYOR a MENOR. El montículo no se modifica.
+     * @param limite La cantidad máxima de valores que se quieren obtener
+     * @return Un arreglo nuevo con los 'limite' valores más grandes, o con todos los valores conservados si hay menos
+     */
+    public int[] getMayoresAMenores( int limite )
+    {
+        if( ordenados == null )
+        {
+            int[] resultado = Arrays.copyOf( valores, cantidad );
+            Arrays.sort( resultado );
+            for( int i = 0, j = resultado.length - 1; i < j; i++, j-- )
+            {
+                int temporal = resultado[ i ];
+                resultado[ i ] = resultado[ j ];
+                resultado[ j ] = temporal;
+            }
+            ordenados = resultado;
+        }
+        return Arrays.copyOf( ordenados, Math.min( limite, cantidad ) );
+    }
+}
@@ -0,0 +1,126 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+
+/**
+ * Una página de un conjunto ordenado de cadenas: como mucho 'limite' cadenas consecutivas a partir de un cursor.
+ *
+ * La página es una vista viva sobre el conjunto: no copia las cadenas y las recorre sólo a medida que se piden, así que construirla cuesta lo mismo que
+ * ubicar el cursor en el conjunto (O(log n) en un TreeSet) sin importar cuántas cadenas hay después. Los cambios que se hagan al conjunto se ven en la
+ * página, y eliminar con el iterador de la página elimina del conjunto.
+ *
+ * Para pedir la página siguiente se usa el cursor que retorna getSiguienteCursor.
+ */
+public class PaginaCadenas extends AbstractCollection<String>
+{
+    /**
+     * La vista del conjunto que empieza en el cursor de la página, en el orden en que se recorre la página
+     */
+    private final NavigableSet<String> rango;
+
+    /**
+     * La cantidad máxima de cadenas de la página
+     */
+    private final int limite;
+
+    /**
+     * Crea una página sobre la vista dada
+     * @param rango La vista del conjunto que empieza en el cursor de la página
+     * @param limite La cantidad máxima de cadenas de la página
+     */
+    PaginaCadenas( NavigableSet<String> rango, int limite )
+    {
+        if( limite <= 0 )
+            throw new IllegalArgumentException( "El límite de la página debe ser mayor a 0: " + limite );
+        this.rango = rango;
+        this.limite = limite;
+    }
+
+    /**
+     * Retorna la cantidad máxima de cadenas de la página
+     * @return El límite de la página
+     */
+    public int getLimite( )
+    {
+        return limite;
+    }
+
+    /**
+     * Retorna el cursor con el que se pide la página siguiente: la primera cadena que quedó por fuera de esta página.
+     *
+     * El cursor se calcula recorriendo la página, así que cuesta O(limite).
+     * @return El cursor de la página siguiente, o null si esta es la última página
+     */
+    public String getSiguienteCursor( )
+    {
+        Iterator<String> iterador = rango.iterator( );
+        for( int i = 0; i < limite && iterador.hasNext( ); i++ )
+        {
+            iterador.next( );
+        }
+        return iterador.hasNext( ) ? iterador.next( ) : null;
+    }
+
+    /**
+     * Indica si después de esta página hay más cadenas
+     * @return True si hay una página siguiente
+     */
+    public boolean haySiguiente( )
+    {
+        return getSiguienteCursor( ) != null;
+    }
+
+    @Override
+    public int size( )
+    {
+        int cantidad = 0;
+        Iterator<String> iterador = rango.iterator( );
+        while( cantidad < limite && iterador.hasNext( ) )
+        {
+            iterador.next( );
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return rango.isEmpty( );
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        Iterator<String> iterador = rango.iterator( );
+        return new Iterator<String>( )
+        {
+            private int entregadas;
+
+            @Override
+            public boolean hasNext( )
+            {
+                return entregadas < limite && iterador.hasNext( );
+            }
+
+            @Override
+            public String next( )
+            {
+                if( entregadas >= limite )
+                    throw new NoSuchElementException( );
+                String cadena = iterador.next( );
+                entregadas++;
+                return cadena;
+            }
+
+            @Override
+            public void remove( )
+            {
+                iterador.remove( );
+            }
+        };
+    }
+}
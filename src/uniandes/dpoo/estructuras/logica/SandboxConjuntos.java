@@ -1,10 +1,16 @@
 package uniandes.dpoo.estructuras.logica;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Esta clase tiene un conjunto de métodos para practicar operaciones sobre conjuntos implementados usando un árbol (TreeSet).
@@ -19,19 +25,146 @@ import java.util.TreeSet;
  */
 public class SandboxConjuntos
 {
+    /**
+     * Cantidad mínima de cadenas a partir de la cual las operaciones masivas (ordenar, convertir a cadenas, comparar muchas cadenas) se hacen en paralelo o
+     * recorriendo el conjunto en orden en lugar de buscar cada cadena
+     */
+    public static final int UMBRAL_PARALELO = 1 << 14;
+
     /**
      * Un conjunto (set) de cadenas para realizar varias de las siguientes operaciones.
      * 
      * Por defecto, los elementos del conjunto están ordenados lexicográficamente.
+     * 
+     * Es volatile para que, en modo concurrente, los hilos lectores vean completo el conjunto que se reemplaza al reiniciarlo.
      */
-    private NavigableSet<String> arbolCadenas;
+    private volatile NavigableSet<String> arbolCadenas;
 
     /**
-     * Crea una nueva instancia de la clase con las dos listas inicializadas pero vacías
+     * Crea una nueva instancia de la clase con las dos listas inicializadas pero vacías.
+     * 
+     * Las cadenas se almacenan en un TreeSet envuelto en un ConjuntoIndexado, que permite buscar y eliminar cadenas sin tener en cuenta mayúsculas y
+     * minúsculas en O(log n). El índice se construye en la primera de esas consultas, así que mientras no se hagan el conjunto ocupa lo mismo que un
+     * TreeSet.
      */
     public SandboxConjuntos( )
     {
-        arbolCadenas = new TreeSet<String>( );
+        arbolCadenas = new ConjuntoIndexado( new TreeSet<String>( ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase que usa el conjunto dado para almacenar las cadenas. El conjunto se usa directamente, sin copiarlo, y debe ordenar
+     * las cadenas lexicográficamente.
+     * 
+     * Por ejemplo, con un ArbolRadix las cadenas que comparten prefijos ocupan mucha menos memoria que en un TreeSet.
+     * @param conjunto El conjunto donde se almacenarán las cadenas
+     */
+    public SandboxConjuntos( NavigableSet<String> conjunto )
+    {
+        arbolCadenas = conjunto;
+    }
+
+    /**
+     * Crea una nueva instancia de la clase en modo concurrente: las cadenas se almacenan en un ConcurrentSkipListSet, así que varios hilos pueden consultar
+     * el sandbox mientras otros agregan y eliminan cadenas, sin usar candados.
+     * 
+     * Los recorridos (getSiguientes, las páginas, compararElementos, etc.) son débilmente consistentes: nunca fallan, pero pueden o no ver los cambios que
+     * se hagan mientras recorren el conjunto. reiniciarConjuntoCadenas y volverMayusculas construyen el nuevo conjunto aparte y lo reemplazan de una sola
+     * vez, así que los lectores ven el conjunto anterior o el nuevo, nunca uno a medio construir. Los cambios que otros hilos hagan mientras se construye el
+     * reemplazo se pierden. Note que getCantidadCadenas tiene que recorrer el conjunto.
+     * @return Un sandbox vacío en modo concurrente
+     */
+    public static SandboxConjuntos crearConcurrente( )
+    {
+        return new SandboxConjuntos( new ConcurrentSkipListSet<String>( ) );
+    }
+
+    /**
+     * Indica si el sandbox está en modo concurrente
+     * @return True si el conjunto de cadenas es un ConcurrentSkipListSet
+     */
+    public boolean esConcurrente( )
+    {
+        return arbolCadenas instanceof ConcurrentSkipListSet;
+    }
+
+    /**
+     * Congela el conjunto de cadenas: lo reemplaza por un ConjuntoCongelado con las mismas cadenas, que responde las consultas (getPrimera, getUltima,
+     * getSiguientes, compararElementos, las páginas, etc.) mucho más rápido que un árbol, pero no se puede modificar.
+     * 
+     * Mientras el conjunto esté congelado, los métodos que lo modifican lanzan UnsupportedOperationException. Si el conjunto ya estaba congelado, no pasa
+     * nada.
+     */
+    public void congelar( )
+    {
+        if( !( arbolCadenas instanceof ConjuntoCongelado ) )
+        {
+            arbolCadenas = new ConjuntoCongelado( arbolCadenas );
+        }
+    }
+
+    /**
+     * Comprime el conjunto de cadenas: lo reemplaza por un ConjuntoComprimido con las mismas cadenas, que guarda cada cadena como el prefijo que comparte
+     * con la anterior más el resto. Con cadenas que comparten prefijos largos ocupa varias veces menos memoria que un árbol, a cambio de consultas algo más
+     * lentas.
+     * 
+     * Igual que al congelarlo, mientras el conjunto esté comprimido no se puede modificar: los métodos que lo modifican lanzan
+     * UnsupportedOperationException hasta que se invoque descongelar.
+     */
+    public void comprimir( )
+    {
+        if( !( arbolCadenas instanceof ConjuntoComprimido ) )
+        {
+            arbolCadenas = new ConjuntoComprimido( arbolCadenas );
+        }
+    }
+
+    /**
+     * Guarda el conjunto de cadenas en un archivo ordenado por bloques, que luego se puede abrir con abrirCadenas sin reconstruir el conjunto
+     * @param archivo La ruta del archivo. Si ya existe, se reemplaza.
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    public void guardarCadenas( Path archivo ) throws IOException
+    {
+        NavigableSet<String> conjunto = arbolCadenas;
+        ConjuntoComprimido comprimido = conjunto instanceof ConjuntoComprimido ? ( ConjuntoComprimido )conjunto : new ConjuntoComprimido( conjunto );
+        comprimido.escribir( archivo );
+    }
+
+    /**
+     * Crea un sandbox con las cadenas guardadas en un archivo con guardarCadenas.
+     * 
+     * El archivo se mapea en memoria en lugar de leerse: abrirlo sólo lee el índice de los bloques, y las consultas (incluyendo getSiguientes y
+     * compararElementos) leen del archivo únicamente los bloques que necesitan. El conjunto queda comprimido, así que no se puede modificar hasta que se
+     * invoque descongelar, que lo carga completo en un árbol.
+     * @param archivo La ruta del archivo
+     * @return Un sandbox con las cadenas del archivo
+     * @throws IOException Si no se puede leer el archivo o no fue creado con guardarCadenas
+     */
+    public static SandboxConjuntos abrirCadenas( Path archivo ) throws IOException
+    {
+        return new SandboxConjuntos( ConjuntoComprimido.abrir( archivo ) );
+    }
+
+    /**
+     * Vuelve a permitir modificar el conjunto de cadenas: si estaba congelado o comprimido, lo reemplaza por un TreeSet (envuelto en un ConjuntoIndexado) con las mismas
+     * cadenas, construido en O(n).
+     */
+    public void descongelar( )
+    {
+        if( estaCongelado( ) )
+        {
+            arbolCadenas = new ConjuntoIndexado( new TreeSet<String>( arbolCadenas ) );
+        }
+    }
+
+    /**
+     * Indica si el conjunto de cadenas está congelado (o comprimido)
+     * @return True si el conjunto está congelado o comprimido y no se puede modificar
+     */
+    public boolean estaCongelado( )
+    {
+        return arbolCadenas instanceof ConjuntoCongelado || arbolCadenas instanceof ConjuntoComprimido;
     }
 
     /**
@@ -45,6 +178,8 @@ public class SandboxConjuntos
 
     /**
      * Retorna una lista con las cadenas del conjunto, ordenadas lexicográficamente de mayor a menor.
+     * 
+     * La lista es una copia, aislada de los cambios posteriores del conjunto. Si no se necesita aislarla, getVistaListaInvertida evita copiar las cadenas.
      * @return Una lista con las cadenas ordenadas de mayor a menor
      */
     public List<String> getCadenasComoListaInvertida( )
@@ -52,6 +187,32 @@ public class SandboxConjuntos
         return new ArrayList<String>( arbolCadenas.descendingSet( ) );
     }
 
+    /**
+     * Retorna una vista de sólo lectura del conjunto de cadenas, ordenada de mayor a menor. La vista no copia las cadenas: se construye en O(1) sobre
+     * descendingSet y refleja los cambios posteriores del conjunto.
+     * 
+     * Si el conjunto se reemplaza (al congelarlo, comprimirlo o descongelarlo, o al reiniciarlo en modo concurrente), la vista sigue mostrando el conjunto
+     * anterior. Use invertirCadenas si necesita una copia aislada de los cambios.
+     * @return Una vista no modificable de las cadenas de mayor a menor
+     */
+    public NavigableSet<String> getVistaInvertida( )
+    {
+        return Collections.unmodifiableNavigableSet( arbolCadenas.descendingSet( ) );
+    }
+
+    /**
+     * Retorna una vista de sólo lectura de las cadenas como una lista ordenada de mayor a menor. La lista no copia las cadenas: se recorre directamente
+     * sobre descendingSet a medida que se usa, y refleja los cambios posteriores del conjunto (con las mismas salvedades de getVistaInvertida).
+     * 
+     * Recorrerla completa cuesta lo mismo que recorrer el conjunto, pero acceder por posición cuesta O(posición). Use getCadenasComoListaInvertida si
+     * necesita una copia aislada o acceso aleatorio.
+     * @return Una lista no modificable con las cadenas de mayor a menor
+     */
+    public List<String> getVistaListaInvertida( )
+    {
+        return new ListaDeConjunto( arbolCadenas.descendingSet( ) );
+    }
+
     /**
      * Retorna la cadena que sea lexicográficamente menor en el conjunto de cadenas.
      * 
@@ -60,7 +221,14 @@ public class SandboxConjuntos
      */
     public String getPrimera( )
     {
-        return arbolCadenas.isEmpty( ) ? null : arbolCadenas.first( );
+        NavigableSet<String> conjunto = arbolCadenas;
+        if( conjunto instanceof ConcurrentSkipListSet )
+        {
+            // Otro hilo puede vaciar el conjunto entre isEmpty y first, pero el iterador no falla después de que hasNext retorna true
+            Iterator<String> iterador = conjunto.iterator( );
+            return iterador.hasNext( ) ? iterador.next( ) : null;
+        }
+        return conjunto.isEmpty( ) ? null : conjunto.first( );
     }
 
     /**
@@ -71,7 +239,13 @@ public class SandboxConjuntos
      */
     public String getUltima( )
     {
-        return arbolCadenas.isEmpty( ) ? null : arbolCadenas.last( );
+        NavigableSet<String> conjunto = arbolCadenas;
+        if( conjunto instanceof ConcurrentSkipListSet )
+        {
+            Iterator<String> iterador = conjunto.descendingIterator( );
+            return iterador.hasNext( ) ? iterador.next( ) : null;
+        }
+        return conjunto.isEmpty( ) ? null : conjunto.last( );
     }
 
     /**
@@ -81,8 +255,284 @@ public class SandboxConjuntos
      */
     public Collection<String> getSiguientes( String cadena )
     {
-        if( arbolCadenas.isEmpty( ) ) return new ArrayList<>( );
-        return new ArrayList<>( arbolCadenas.tailSet( cadena, true ) );
+        NavigableSet<String> conjunto = arbolCadenas;
+        if( conjunto.isEmpty( ) ) return new ArrayList<>( );
+        return new ArrayList<>( conjunto.tailSet( cadena, true ) );
+    }
+
+    /**
+     * Retorna una página con las cadenas del conjunto que son mayores o iguales al cursor, en orden lexicográfico.
+     * 
+     * A diferencia de getSiguientes, la página no copia las cadenas: es una vista viva sobre el conjunto que se recorre a medida que se usa, así que pedir
+     * una página de 50 cadenas cuesta lo mismo sin importar cuántas cadenas hay después del cursor.
+     * @param cursor La primera cadena que puede hacer parte de la página. Si es null, la página empieza en la primera cadena del conjunto. Para pedir la
+     *        página siguiente se usa el cursor que retorna PaginaCadenas.getSiguienteCursor.
+     * @param limite La cantidad máxima de cadenas de la página
+     * @return Una página con como mucho 'limite' cadenas
+     */
+    public PaginaCadenas getPaginaSiguientes( String cursor, int limite )
+    {
+        NavigableSet<String> rango = cursor == null ? arbolCadenas : arbolCadenas.tailSet( cursor, true );
+        return new PaginaCadenas( rango, limite );
+    }
+
+    /**
+     * Retorna una página con las cadenas del conjunto que son menores o iguales al cursor, ordenadas de mayor a menor.
+     * 
+     * Es la contraparte descendente de getPaginaSiguientes y se construye sobre descendingSet, así que tampoco copia las cadenas.
+     * @param cursor La primera cadena que puede hacer parte de la página. Si es null, la página empieza en la última cadena del conjunto.
+     * @param limite La cantidad máxima de cadenas de la página
+     * @return Una página con como mucho 'limite' cadenas, de mayor a menor
+     */
+    public PaginaCadenas getPaginaAnteriores( String cursor, int limite )
+    {
+        NavigableSet<String> descendente = arbolCadenas.descendingSet( );
+        NavigableSet<String> rango = cursor == null ? descendente : descendente.tailSet( cursor, true );
+        return new PaginaCadenas( rango, limite );
+    }
+
+    /**
+     * Retorna la posición que ocupa (u ocuparía) la cadena en el orden del conjunto, es decir, la cantidad de cadenas del conjunto menores que ella.
+     * 
+     * Con un ArbolEstadistico (directamente o envuelto en un ConjuntoIndexado) o un conjunto congelado cuesta O(log n). Con otros conjuntos hay que contar las
+     * cadenas menores.
+     * @param cadena La cadena buscada
+     * @return La cantidad de cadenas del conjunto menores que la cadena
+     */
+    public int rango( String cadena )
+    {
+        if( arbolCadenas instanceof ConjuntoOrdenado )
+        {
+            return ( ( ConjuntoOrdenado )arbolCadenas ).rango( cadena );
+        }
+        return arbolCadenas.headSet( cadena, false ).size( );
+    }
+
+    /**
+     * Retorna la cadena que está en la posición k del orden del conjunto, empezando en 0.
+     * 
+     * Con un ArbolEstadistico (directamente o envuelto en un ConjuntoIndexado) o un conjunto congelado cuesta O(log n). Con otros conjuntos hay que recorrer
+     * el conjunto desde el inicio.
+     * @param k La posición de la cadena
+     * @return La cadena en la posición k
+     * @throws IndexOutOfBoundsException Si k es negativo o no es menor que la cantidad de cadenas
+     */
+    public String kesima( int k )
+    {
+        if( arbolCadenas instanceof ConjuntoOrdenado )
+        {
+            return ( ( ConjuntoOrdenado )arbolCadenas ).kesima( k );
+        }
+        if( k >= 0 && k < arbolCadenas.size( ) )
+        {
+            Iterator<String> iterador = arbolCadenas.iterator( );
+            for( int i = 0; i < k; i++ )
+            {
+                iterador.next( );
+            }
+            return iterador.next( );
+        }
+        throw new IndexOutOfBoundsException( "Posición: " + k + ", tamaño: " + arbolCadenas.size( ) );
+    }
+
+    /**
+     * Cuenta las cadenas del conjunto que son mayores o iguales a 'desde' y menores que 'hasta'.
+     * 
+     * Con un ArbolEstadistico (directamente o envuelto en un ConjuntoIndexado) o un conjunto congelado cuesta O(log n).
+     * @param desde El inicio del rango (inclusivo)
+     * @param hasta El fin del rango (exclusivo)
+     * @return La cantidad de cadenas en el rango, o 0 si 'desde' no es menor que 'hasta'
+     */
+    public int contarEntre( String desde, String hasta )
+    {
+        if( desde.compareTo( hasta ) >= 0 )
+        {
+            return 0;
+        }
+        return arbolCadenas.subSet( desde, true, hasta, false ).size( );
+    }
+
+    /**
+     * Retorna una página con las cadenas del conjunto que empiezan con el prefijo dado, en orden lexicográfico.
+     *
+     * Las cadenas con un prefijo forman un rango del conjunto, que va desde el prefijo hasta la primera cadena después de todas las que lo tienen. La página
+     * es una vista sobre ese rango, así que no copia las cadenas y sólo recorre las que retorna. Si quedan más cadenas con el prefijo, haySiguiente retorna
+     * true y getSiguienteCursor retorna la primera de ellas, que se usa para pedir la página siguiente con getConPrefijo( prefijo, cursor, limite ).
+     * @param prefijo El prefijo de las cadenas buscadas
+     * @param limite La cantidad máxima de cadenas de la página
+     * @return Una página con como mucho 'limite' cadenas que empiezan con el prefijo
+     */
+    public PaginaCadenas getConPrefijo( String prefijo, int limite )
+    {
+        return getConPrefijo( prefijo, null, limite );
+    }
+
+    /**
+     * Retorna una página con las cadenas del conjunto que empiezan con el prefijo dado y son mayores o iguales al cursor, en orden lexicográfico.
+     *
+     * Igual que getPaginaSiguientes, pero sin salirse de las cadenas con el prefijo: el cursor de la última página es null.
+     * @param prefijo El prefijo de las cadenas buscadas
+     * @param cursor La primera cadena que puede hacer parte de la página, normalmente el cursor de la página anterior. Si es null, la página empieza en la
+     *        primera cadena con el prefijo.
+     * @param limite La cantidad máxima de cadenas de la página
+     * @return Una página con como mucho 'limite' cadenas que empiezan con el prefijo
+     */
+    public PaginaCadenas getConPrefijo( String prefijo, String cursor, int limite )
+    {
+        String desde = cursor == null || cursor.compareTo( prefijo ) < 0 ? prefijo : cursor;
+        String sucesor = sucesorPrefijo( prefijo );
+        NavigableSet<String> conjunto = arbolCadenas;
+        NavigableSet<String> rango;
+        if( sucesor == null )
+        {
+            rango = conjunto.tailSet( desde, true );
+        }
+        else if( desde.compareTo( sucesor ) >= 0 )
+        {
+            // El cursor ya pasó todas las cadenas con el prefijo
+            rango = conjunto.subSet( sucesor, true, sucesor, false );
+        }
+        else
+        {
+            rango = conjunto.subSet( desde, true, sucesor, false );
+        }
+        return new PaginaCadenas( rango, limite );
+    }
+
+    /**
+     * Cuenta las cadenas del conjunto que empiezan con el prefijo dado, sin copiarlas.
+     *
+     * Con un ArbolEstadistico (directamente o envuelto en un ConjuntoIndexado) o un conjunto congelado cuesta O(log n), igual que contarEntre.
+     * @param prefijo El prefijo de las cadenas buscadas
+     * @return La cantidad de cadenas que empiezan con el prefijo
+     */
+    public int contarConPrefijo( String prefijo )
+    {
+        return conPrefijo( arbolCadenas, prefijo ).size( );
+    }
+
+    /**
+     * Retorna la vista del conjunto con las cadenas que empiezan con el prefijo
+     */
+    private static NavigableSet<String> conPrefijo( NavigableSet<String> conjunto, String prefijo )
+    {
+        String sucesor = sucesorPrefijo( prefijo );
+        return sucesor == null ? conjunto.tailSet( prefijo, true ) : conjunto.subSet( prefijo, true, sucesor, false );
+    }
+
+    /**
+     * Retorna las cadenas del conjunto cuya distancia de edición (Levenshtein) a la cadena dada es como mucho maxDistancia, en orden lexicográfico.
+     *
+     * El conjunto se recorre como si fuera un trie: las filas de la tabla de distancias se calculan una vez por cada prefijo, y las cadenas consecutivas
+     * reutilizan las filas de su prefijo común. Cuando todas las distancias de una fila superan maxDistancia, ninguna cadena con ese prefijo puede servir, así
+     * que se salta directamente a la primera cadena después del prefijo con ceiling. Así, con distancias pequeñas sólo se visitan las cadenas cercanas y no
+     * todo el conjunto.
+     * @param cadena La cadena buscada
+     * @param maxDistancia La máxima cantidad de inserciones, eliminaciones y reemplazos de caracteres
+     * @return Una lista ordenada con las cadenas cercanas a la cadena dada
+     */
+    public List<String> buscarAproximado( String cadena, int maxDistancia )
+    {
+        if( maxDistancia < 0 )
+        {
+            throw new IllegalArgumentException( "La distancia máxima no puede ser negativa: " + maxDistancia );
+        }
+        NavigableSet<String> conjunto = arbolCadenas;
+        List<String> encontradas = new ArrayList<>( );
+        int m = cadena.length( );
+
+        // filas[ d ] tiene las distancias entre los primeros d caracteres de 'anterior' y cada prefijo de la cadena buscada. Una cadena con más de
+        // m + maxDistancia caracteres nunca sirve, pero maxDistancia puede ser enorme, así que las filas se crean a medida que el recorrido baja y nunca
+        // hay más filas que caracteres tiene la cadena más larga visitada.
+        int[][] filas = new int[( int )Math.min( m + 2L + maxDistancia, m + 18L )][];
+        filas[ 0 ] = new int[m + 1];
+        for( int j = 0; j <= m; j++ )
+        {
+            filas[ 0 ][ j ] = j;
+        }
+        String anterior = "";
+        int validas = 0;
+
+        // En modo concurrente el conjunto se puede vaciar entre isEmpty y first, pero el iterador no falla después de que hasNext retorna true
+        Iterator<String> inicio = conjunto.iterator( );
+        String actual = inicio.hasNext( ) ? inicio.next( ) : null;
+        while( actual != null )
+        {
+            int d = Math.min( validas, prefijoComun( anterior, actual ) );
+            boolean descartada = false;
+            while( d < actual.length( ) && !descartada )
+            {
+                d++;
+                if( d == filas.length )
+                {
+                    filas = Arrays.copyOf( filas, 2 * filas.length );
+                }
+                if( filas[ d ] == null )
+                {
+                    filas[ d ] = new int[m + 1];
+                }
+                int[] previa = filas[ d - 1 ];
+                int[] fila = filas[ d ];
+                char c = actual.charAt( d - 1 );
+                fila[ 0 ] = d;
+                int minimo = d;
+                for( int j = 1; j <= m; j++ )
+                {
+                    int reemplazo = previa[ j - 1 ] + ( cadena.charAt( j - 1 ) == c ? 0 : 1 );
+                    fila[ j ] = Math.min( reemplazo, Math.min( previa[ j ], fila[ j - 1 ] ) + 1 );
+                    minimo = Math.min( minimo, fila[ j ] );
+                }
+                descartada = minimo > maxDistancia;
+            }
+            anterior = actual;
+            validas = d;
+            if( descartada )
+            {
+                String sucesor = sucesorPrefijo( actual.substring( 0, d ) );
+                actual = sucesor == null ? null : conjunto.ceiling( sucesor );
+            }
+            else
+            {
+                if( filas[ d ][ m ] <= maxDistancia )
+                {
+                    encontradas.add( actual );
+                }
+                actual = conjunto.higher( actual );
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Retorna la longitud del prefijo común más largo de las dos cadenas
+     */
+    private static int prefijoComun( String a, String b )
+    {
+        int n = Math.min( a.length( ), b.length( ) );
+        int i = 0;
+        while( i < n && a.charAt( i ) == b.charAt( i ) )
+        {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Retorna la menor cadena que es mayor que todas las cadenas que empiezan con el prefijo, o null si no hay ninguna (todos los caracteres del prefijo
+     * son Character.MAX_VALUE).
+     */
+    private static String sucesorPrefijo( String prefijo )
+    {
+        int fin = prefijo.length( );
+        while( fin > 0 && prefijo.charAt( fin - 1 ) == Character.MAX_VALUE )
+        {
+            fin--;
+        }
+        if( fin == 0 )
+        {
+            return null;
+        }
+        return prefijo.substring( 0, fin - 1 ) + ( char ) ( prefijo.charAt( fin - 1 ) + 1 );
     }
 
     /**
@@ -117,11 +567,23 @@ public class SandboxConjuntos
 
     /**
      * Elimina una cadena del conjunto de cadenas, independientemente de las mayúsculas o minúsculas
+     * 
+     * Si el conjunto es un ConjuntoIndexado (la opción por defecto), la cadena se encuentra en O(log n) sin recorrer el conjunto, salvo la primera vez,
+     * cuando se construye el índice.
      * @param cadena La cadena que se va eliminar, sin tener en cuenta las mayúsculas o minúsculas
      */
     public void eliminarCadenaSinMayusculasOMinusculas( String cadena )
     {
         String objetivo = null;
+        if( arbolCadenas instanceof ConjuntoIndexado )
+        {
+            objetivo = ( ( ConjuntoIndexado )arbolCadenas ).buscarSinMayusculas( cadena );
+            if( objetivo != null )
+            {
+                arbolCadenas.remove( objetivo );
+            }
+            return;
+        }
         for( String s : arbolCadenas )
         {
             if( s.equalsIgnoreCase( cadena ) )
@@ -137,65 +599,198 @@ public class SandboxConjuntos
     }
 
     /**
-     * Elimina la primera cadena del conjunto
+     * Indica si el conjunto contiene una cadena igual a la dada, sin tener en cuenta mayúsculas y minúsculas
+     * 
+     * Si el conjunto es un ConjuntoIndexado (la opción por defecto), la consulta no recorre el conjunto.
+     * @param cadena La cadena buscada
+     * @return True si alguna cadena del conjunto es igual a la dada sin tener en cuenta mayúsculas y minúsculas
      */
-    public void eliminarPrimera( )
+    public boolean contieneSinMayusculas( String cadena )
     {
-        if( !arbolCadenas.isEmpty( ) )
+        if( arbolCadenas instanceof ConjuntoIndexado )
         {
-            arbolCadenas.pollFirst( );
+            return ( ( ConjuntoIndexado )arbolCadenas ).contieneSinMayusculas( cadena );
         }
+        for( String s : arbolCadenas )
+        {
+            if( s.equalsIgnoreCase( cadena ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Elimina la primera cadena del conjunto
+     */
+    public void eliminarPrimera( )
+    {
+        // pollFirst retorna null si el conjunto está vacío, así que no hay que verificarlo antes (y en modo concurrente no sería seguro hacerlo)
+        arbolCadenas.pollFirst( );
     }
 
     /**
      * Reinicia el conjunto de cadenas con las representaciones como Strings de los objetos contenidos en la lista del parámetro 'objetos'.
      * 
      * Use el método toString para convertir los objetos a cadenas.
+     * 
+     * Las cadenas se ordenan y se eliminan las repetidas una sola vez (en paralelo si son muchas) y luego se cargan todas juntas, así que un TreeSet se
+     * construye en O(n) en lugar de hacer n inserciones.
      * @param valores Una lista de objetos
      */
     public void reiniciarConjuntoCadenas( List<?> objetos )
     {
-        arbolCadenas.clear( );
-        for( Object obj : objetos )
+        String[] cadenas;
+        if( objetos.size( ) >= UMBRAL_PARALELO )
         {
-            arbolCadenas.add( obj.toString( ) );
+            cadenas = objetos.parallelStream( ).map( Object::toString ).toArray( String[]::new );
         }
+        else
+        {
+            cadenas = new String[objetos.size( )];
+            int i = 0;
+            for( Object obj : objetos )
+            {
+                cadenas[ i++ ] = obj.toString( );
+            }
+        }
+        reemplazar( CadenasOrdenadas.ordenar( cadenas ) );
+    }
+
+    /**
+     * Reemplaza el contenido del conjunto de cadenas por las cadenas dadas.
+     * 
+     * En modo concurrente se construye aparte un nuevo ConcurrentSkipListSet y se reemplaza el anterior de una sola vez. Construirlo cuesta O(n log n): a
+     * diferencia de TreeSet, ConcurrentSkipListSet inserta las cadenas una por una aunque ya vengan ordenadas. Si no, se vacía el conjunto actual y se
+     * cargan las cadenas, así que se conserva su implementación.
+     */
+    private void reemplazar( CadenasOrdenadas cadenas )
+    {
+        if( arbolCadenas instanceof ConcurrentSkipListSet )
+        {
+            arbolCadenas = new ConcurrentSkipListSet<String>( cadenas );
+            return;
+        }
+        arbolCadenas.clear( );
+        arbolCadenas.addAll( cadenas );
     }
 
     /**
      * Modifica el conjunto de cadenas para que todas las cadenas estén en mayúsculas.
      * 
      * Note que esta operación podría modificar el órden de los elementos dentro del conjunto.
+     * 
+     * Las cadenas se reemplazan dentro del mismo conjunto, así que se conserva la implementación que se usó al construir el sandbox.
+     * 
+     * Casi siempre pasar a mayúsculas conserva el orden relativo de las cadenas, así que las cadenas convertidas normalmente ya están ordenadas y se cargan
+     * de una vez (en O(n) con un TreeSet). Si algunas quedan fuera de orden, sólo se reordenan los tramos desordenados.
      */
     public void volverMayusculas( )
     {
-        if( arbolCadenas.isEmpty( ) ) return;
-        NavigableSet<String> nuevo = new TreeSet<>( );
+        List<String> mayusculas = new ArrayList<>( );
         for( String s : arbolCadenas )
         {
-            nuevo.add( s.toUpperCase( ) );
+            mayusculas.add( s.toUpperCase( ) );
         }
-        arbolCadenas = nuevo;
+        if( mayusculas.isEmpty( ) ) return;
+        reemplazar( CadenasOrdenadas.ordenar( mayusculas.toArray( new String[mayusculas.size( )] ) ) );
     }
 
     /**
      * Construye un árbol de cadenas donde todas las cadenas están organizadas de MAYOR a MENOR.
+     * 
+     * El árbol es una copia, aislada de los cambios posteriores del conjunto; como las cadenas ya vienen ordenadas, se construye en O(n). Si no se necesita
+     * aislarla, getVistaInvertida retorna el mismo orden sin copiar nada.
      */
     public TreeSet<String> invertirCadenas( )
     {
         return new TreeSet<>( arbolCadenas.descendingSet( ) );
     }
 
+    /**
+     * Activa un filtro de Bloom sincronizado con el conjunto de cadenas, para que las búsquedas de cadenas que no están (por ejemplo en compararElementos)
+     * se descarten en O(1) sin comparar cadenas.
+     * @throws UnsupportedOperationException Si el conjunto no es un ConjuntoIndexado
+     */
+    public void activarFiltroBloom( )
+    {
+        if( !( arbolCadenas instanceof ConjuntoIndexado ) )
+        {
+            throw new UnsupportedOperationException( "El conjunto de cadenas no permite usar un filtro de Bloom" );
+        }
+        ( ( ConjuntoIndexado )arbolCadenas ).activarFiltro( );
+    }
+
+    /**
+     * Desactiva el filtro de Bloom del conjunto de cadenas, si estaba activo
+     */
+    public void desactivarFiltroBloom( )
+    {
+        if( arbolCadenas instanceof ConjuntoIndexado )
+        {
+            ( ( ConjuntoIndexado )arbolCadenas ).desactivarFiltro( );
+        }
+    }
+
     /**
      * Verifica si todos los elementos en el arreglo de cadenas del parámetro hacen parte del conjunto de cadenas
+     * 
+     * Si el arreglo es grande comparado con el conjunto, en lugar de buscar cada cadena se ordena una copia del arreglo y se recorre a la par con el conjunto,
+     * en O(n + m log m); si además el filtro de Bloom está activo, antes de ordenar se descartan con él las cadenas que seguro no están. Al buscar cada
+     * cadena no hace falta consultar el filtro aparte, porque ConjuntoIndexado.contains ya lo hace.
      * @param otroArreglo El arreglo de enteros con el que se debe comparar
      * @return True si todos los elementos del arreglo están dentro del conjunto
      */
     public boolean compararElementos( String[] otroArreglo )
     {
+        NavigableSet<String> conjunto = arbolCadenas;
+        // En modo concurrente size recorre todo el conjunto, así que no se usa para decidir
+        if( otroArreglo.length >= UMBRAL_PARALELO && !( conjunto instanceof ConcurrentSkipListSet ) && otroArreglo.length >= conjunto.size( ) / 8 )
+        {
+            if( conjunto instanceof ConjuntoIndexado && ( ( ConjuntoIndexado )conjunto ).tieneFiltro( ) )
+            {
+                ConjuntoIndexado indexado = ( ConjuntoIndexado )conjunto;
+                for( String s : otroArreglo )
+                {
+                    if( !indexado.puedeContener( s ) )
+                    {
+                        return false;
+                    }
+                }
+            }
+            return contieneOrdenadas( conjunto, otroArreglo );
+        }
         for( String s : otroArreglo )
         {
-            if( !arbolCadenas.contains( s ) )
+            if( !conjunto.contains( s ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica si todas las cadenas del arreglo están en el conjunto ordenando una copia del arreglo y recorriéndola a la par con el conjunto
+     */
+    private static boolean contieneOrdenadas( NavigableSet<String> conjunto, String[] cadenas )
+    {
+        String[] ordenadas = cadenas.clone( );
+        Arrays.parallelSort( ordenadas );
+        Iterator<String> iterador = conjunto.iterator( );
+        String actual = null;
+        for( String s : ordenadas )
+        {
+            while( actual == null || actual.compareTo( s ) < 0 )
+            {
+                if( !iterador.hasNext( ) )
+                {
+                    return false;
+                }
+                actual = iterador.next( );
+            }
+            if( !actual.equals( s ) )
             {
                 return false;
             }
@@ -0,0 +1,191 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * Esta clase tiene un conjunto de métodos para practicar operaciones sobre conjuntos ordenados de enteros, con las mismas operaciones de navegación de
+ * SandboxConjuntos.
+ *
+ * Todos los métodos deben operar sobre el atributo conjuntoEnteros, que es un MapaBitsComprimido: los enteros se guardan en arreglos de 16 bits, mapas de
+ * bits o rachas de valores consecutivos, así que un conjunto grande de identificadores ocupa una pequeña fracción de lo que ocuparía un TreeSet.
+ *
+ * No pueden agregarse nuevos atributos.
+ */
+public class SandboxConjuntosEnteros
+{
+    /**
+     * Un conjunto de enteros para realizar varias de las siguientes operaciones.
+     *
+     * Los elementos del conjunto están ordenados de menor a mayor.
+     */
+    private MapaBitsComprimido conjuntoEnteros;
+
+    /**
+     * Crea una nueva instancia de la clase con el conjunto inicializado pero vacío
+     */
+    public SandboxConjuntosEnteros( )
+    {
+        conjuntoEnteros = new MapaBitsComprimido( );
+    }
+
+    /**
+     * Retorna una lista con los enteros del conjunto, ordenados de menor a mayor
+     * @return Una lista ordenada con los enteros del conjunto
+     */
+    public List<Integer> getEnterosComoLista( )
+    {
+        List<Integer> lista = new ArrayList<>( );
+        PrimitiveIterator.OfInt iterador = conjuntoEnteros.iterador( );
+        while( iterador.hasNext( ) )
+        {
+            lista.add( iterador.nextInt( ) );
+        }
+        return lista;
+    }
+
+    /**
+     * Retorna el menor entero del conjunto.
+     *
+     * Si el conjunto está vacío, debe retornar null.
+     * @return El primer entero del conjunto, o null si está vacío.
+     */
+    public Integer getPrimero( )
+    {
+        return conjuntoEnteros.estaVacio( ) ? null : conjuntoEnteros.minimo( );
+    }
+
+    /**
+     * Retorna el mayor entero del conjunto.
+     *
+     * Si el conjunto está vacío, debe retornar null.
+     * @return El último entero del conjunto, o null si está vacío.
+     */
+    public Integer getUltimo( )
+    {
+        return conjuntoEnteros.estaVacio( ) ? null : conjuntoEnteros.maximo( );
+    }
+
+    /**
+     * Retorna una colección con los enteros del conjunto que son mayores o iguales al entero que se recibe por parámetro
+     * @param entero
+     * @return Una colección de enteros mayores al entero dado. Si el entero hace parte del conjunto, debe hacer parte de la colección retornada.
+     */
+    public Collection<Integer> getSiguientes( int entero )
+    {
+        List<Integer> siguientes = new ArrayList<>( );
+        PrimitiveIterator.OfInt iterador = conjuntoEnteros.iteradorDesde( entero );
+        while( iterador.hasNext( ) )
+        {
+            siguientes.add( iterador.nextInt( ) );
+        }
+        return siguientes;
+    }
+
+    /**
+     * Retorna la cantidad de enteros en el conjunto
+     * @return
+     */
+    public long getCantidadEnteros( )
+    {
+        return conjuntoEnteros.getCantidad( );
+    }
+
+    /**
+     * Agrega un nuevo entero al conjunto
+     * @param entero El entero que se va a agregar.
+     */
+    public void agregarEntero( int entero )
+    {
+        conjuntoEnteros.agregar( entero );
+    }
+
+    /**
+     * Elimina un entero del conjunto
+     * @param entero El entero que se va a eliminar
+     */
+    public void eliminarEntero( int entero )
+    {
+        conjuntoEnteros.quitar( entero );
+    }
+
+    /**
+     * Elimina el primer entero del conjunto
+     */
+    public void eliminarPrimero( )
+    {
+        if( !conjuntoEnteros.estaVacio( ) )
+        {
+            conjuntoEnteros.quitar( conjuntoEnteros.minimo( ) );
+        }
+    }
+
+    /**
+     * Reinicia el conjunto con los enteros del arreglo, que puede tener valores repetidos y en cualquier orden
+     * @param enteros Los enteros que debe tener el conjunto
+     */
+    public void reiniciarConjuntoEnteros( int[] enteros )
+    {
+        conjuntoEnteros = new MapaBitsComprimido( enteros );
+    }
+
+    /**
+     * Verifica si todos los elementos en el arreglo de enteros del parámetro hacen parte del conjunto
+     * @param otroArreglo El arreglo de enteros con el que se debe comparar
+     * @return True si todos los elementos del arreglo están dentro del conjunto
+     */
+    public boolean compararElementos( int[] otroArreglo )
+    {
+        for( int entero : otroArreglo )
+        {
+            if( !conjuntoEnteros.contiene( entero ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Agrega al conjunto todos los enteros del conjunto del otro sandbox.
+     *
+     * La unión se hace contenedor por contenedor; cuando hay mapas de bits, se combinan de a 64 enteros a la vez.
+     * @param otro El sandbox con los enteros que se van a agregar. No se modifica.
+     */
+    public void unir( SandboxConjuntosEnteros otro )
+    {
+        conjuntoEnteros = MapaBitsComprimido.union( conjuntoEnteros, otro.conjuntoEnteros );
+    }
+
+    /**
+     * Deja en el conjunto sólo los enteros que también están en el conjunto del otro sandbox.
+     *
+     * Sólo se comparan los grupos de enteros que existen en los dos conjuntos, así que el costo depende del conjunto más pequeño.
+     * @param otro El sandbox con los enteros que se deben conservar. No se modifica.
+     */
+    public void intersecar( SandboxConjuntosEnteros otro )
+    {
+        conjuntoEnteros = MapaBitsComprimido.interseccion( conjuntoEnteros, otro.conjuntoEnteros );
+    }
+
+    /**
+     * Cambia la representación de cada grupo de enteros por la que ocupe menos memoria, agrupando los enteros consecutivos en rachas.
+     *
+     * Conviene usarlo después de cargar el conjunto; agregar o eliminar enteros después sigue funcionando.
+     */
+    public void optimizar( )
+    {
+        conjuntoEnteros.optimizar( );
+    }
+
+    /**
+     * Estima la memoria (en bytes) que ocupa el conjunto. Se puede comparar con ArbolRadix.estimarBytesTreeSet.
+     * @return La cantidad aproximada de bytes que ocupa el conjunto
+     */
+    public long getBytesEstimados( )
+    {
+        return conjuntoEnteros.getBytesEstimados( );
+    }
+}
@@ -1,8 +1,20 @@
 package uniandes.dpoo.estructuras.logica;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * Esta clase tiene un conjunto de métodos para practicar operaciones sobre listas de enteros y de cadenas.
@@ -17,6 +29,11 @@ import java.util.List;
  */
 public class SandboxListas
 {
+    /**
+     * Cantidad mínima de elementos a partir de la cual las consultas agregadas se ejecutan en paralelo sobre el ForkJoinPool común
+     */
+    public static final int UMBRAL_PARALELO = 1 << 14;
+
     /**
      * Una lista de enteros para realizar varias de las siguientes operaciones.
      */
@@ -28,29 +45,68 @@ public class SandboxListas
     private List<String> listaCadenas;
 
     /**
-     * Crea una nueva instancia de la clase con las dos listas inicializadas pero vacías
+     * Crea una nueva instancia de la clase con las dos listas inicializadas pero vacías.
+     * 
+     * La lista de enteros es una ListaEnterosIndexada y la lista de cadenas es una ListaCadenasIndexada, que mantienen actualizada la cantidad de apariciones
+     * de cada valor.
      */
     public SandboxListas( )
     {
-        listaEnteros = new ArrayList<Integer>( );
-        listaCadenas = new LinkedList<String>( );
+        listaEnteros = new ListaEnterosIndexada( new ArrayList<Integer>( ) );
+        listaCadenas = new ListaCadenasIndexada( new LinkedList<String>( ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase en modo ventana: las dos listas tienen una capacidad fija y, una vez están llenas, agregar un nuevo valor descarta el
+     * valor más antiguo.
+     * 
+     * Todas las consultas operan sobre los valores que están actualmente en la ventana.
+     * @param capacidad La cantidad máxima de valores que puede tener cada una de las listas
+     */
+    public SandboxListas( int capacidad )
+    {
+        listaEnteros = new ListaEnterosIndexada( new ListaCircular<Integer>( capacidad ) );
+        listaCadenas = new ListaCadenasIndexada( new ListaCircular<String>( capacidad ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase usando las listas dadas como respaldo. Las listas se usan directamente, sin copiarlas.
+     * 
+     * Por ejemplo, con dos ListaPersistente los métodos getCopiaEnteros y getCopiaCadenas retornan copias en O(1) que comparten la estructura con la lista original.
+     * @param enteros La lista que se usará como lista de enteros
+     * @param cadenas La lista que se usará como lista de cadenas
+     */
+    public SandboxListas( List<Integer> enteros, List<String> cadenas )
+    {
+        listaEnteros = enteros;
+        listaCadenas = cadenas;
     }
 
     /**
      * Retorna una copia de la lista de enteros, es decir una nueva lista del mismo tamaño que contiene copias de los valores de la lista original
+     * 
+     * Si la lista de enteros es una ListaPersistente, la copia se obtiene en O(1) sin copiar los valores.
      * @return Una copia de la lista de enteros
      */
     public List<Integer> getCopiaEnteros( )
     {
+    	if (listaEnteros instanceof ListaPersistente) {
+    	    return ((ListaPersistente<Integer>) listaEnteros).copia();
+    	}
     	return new ArrayList<>(listaEnteros);
     }
 
     /**
      * Retorna una copia de la lista de cadenas, es decir una nueva lista del mismo tamaño que contiene copias de los valores de la lista original
+     * 
+     * Si la lista de cadenas es una ListaPersistente, la copia se obtiene en O(1) sin copiar los valores.
      * @return Una copia de la lista de cadenas
      */
     public List<String> getCopiaCadenas( )
     {
+    	if (listaCadenas instanceof ListaPersistente) {
+    	    return ((ListaPersistente<String>) listaCadenas).copia();
+    	}
     	return new java.util.ArrayList<>(listaCadenas);    
     	
     }
@@ -68,6 +124,74 @@ public class SandboxListas
         return arreglo;
     }
 
+    /**
+     * Retorna una vista de sólo lectura de la lista de enteros. La vista no copia los valores: refleja los cambios posteriores de la lista y sus iteradores
+     * fallan con ConcurrentModificationException si la lista se modifica mientras se recorren.
+     * 
+     * Use getCopiaEnteros si necesita una lista aislada de los cambios posteriores.
+     * @return Una vista no modificable de la lista de enteros
+     */
+    public List<Integer> getVistaEnteros( )
+    {
+    	return Collections.unmodifiableList(listaEnteros);
+    }
+
+    /**
+     * Retorna una vista de sólo lectura de la lista de cadenas. La vista no copia los valores: refleja los cambios posteriores de la lista y sus iteradores
+     * fallan con ConcurrentModificationException si la lista se modifica mientras se recorren.
+     * 
+     * Use getCopiaCadenas si necesita una lista aislada de los cambios posteriores.
+     * @return Una vista no modificable de la lista de cadenas
+     */
+    public List<String> getVistaCadenas( )
+    {
+    	return Collections.unmodifiableList(listaCadenas);
+    }
+
+    /**
+     * Retorna un iterador que recorre los valores de la lista de enteros como enteros primitivos, sin copiarlos.
+     * 
+     * El iterador falla con ConcurrentModificationException si la lista se modifica mientras se recorre.
+     * @return Un iterador de enteros primitivos
+     */
+    public PrimitiveIterator.OfInt iteradorEnteros( )
+    {
+    	return new IteradorEnteros(listaEnteros);
+    }
+
+    /**
+     * Retorna un spliterator sobre los valores de la lista de enteros. El spliterator es SIZED y SUBSIZED, así que se divide en partes balanceadas cuando se
+     * usa en un stream paralelo.
+     * 
+     * Si la lista no es de acceso aleatorio, el spliterator recorre una copia de sus valores.
+     * @return Un spliterator de enteros primitivos
+     */
+    public Spliterator.OfInt spliteratorEnteros( )
+    {
+    	if (listaEnteros instanceof RandomAccess) {
+    	    return new SpliteratorEnteros(listaEnteros);
+    	}
+    	return Spliterators.spliterator(getEnterosComoArreglo(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Retorna un spliterator SIZED y SUBSIZED sobre las cadenas de la lista de cadenas. Como la lista de cadenas normalmente no es de acceso aleatorio, el
+     * spliterator recorre una copia de sus valores.
+     * @return Un spliterator de cadenas
+     */
+    public Spliterator<String> spliteratorCadenas( )
+    {
+    	return Spliterators.spliterator(listaCadenas.toArray(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Indica si una consulta sobre una lista del tamaño dado debe ejecutarse en paralelo
+     */
+    private static boolean usarParalelo( int cantidad )
+    {
+    	return cantidad >= UMBRAL_PARALELO;
+    }
+
     /**
      * Retorna la cantidad de valores en la lista de enteros
      * @return
@@ -90,6 +214,8 @@ public class SandboxListas
     /**
      * Agrega un nuevo valor al final de la lista de enteros. Es decir que este método siempre debería aumentar en 1 el tamaño de la lista.
      * 
+     * En modo ventana, si la lista ya está llena el valor más antiguo se descarta y el tamaño no cambia.
+     * 
      * @param entero El valor que se va a agregar.
      */
     public void agregarEntero( int entero )
@@ -100,6 +226,8 @@ public class SandboxListas
     /**
      * Agrega un nuevo valor al final de la lista de cadenas. Es decir que este método siempre debería aumentar en 1 la capacidad de la lista.
      * 
+     * En modo ventana, si la lista ya está llena la cadena más antigua se descarta y el tamaño no cambia.
+     * 
      * @param cadena La cadena que se va a agregar.
      */
     public void agregarCadena( String cadena )
@@ -157,42 +285,131 @@ public class SandboxListas
         }
     }
 
+    /**
+     * Reserva espacio en la lista para la cantidad de elementos dada, si la lista (o su respaldo) es un ArrayList
+     */
+    private static void reservar( List<?> lista, int cantidad )
+    {
+    	if (lista instanceof ListaIndexada) {
+    	    ((ListaIndexada<?>) lista).reservar(cantidad);
+    	} else if (lista instanceof ArrayList) {
+    	    ((ArrayList<?>) lista).ensureCapacity(cantidad);
+    	}
+    }
+
     /**
      * Reinicia la lista de enteros con los valores contenidos en el parámetro 'valores', pero truncados.
      * 
      * Es decir que si el valor fuera 3.67, en la nueva lista debería quedar el entero 3.
+     * 
+     * La lista se dimensiona una sola vez y los valores se convierten y se cargan por bloques de UMBRAL_PARALELO valores, así que además de la lista sólo
+     * se necesita memoria para un bloque. Si hay al menos UMBRAL_PARALELO valores, cada bloque se convierte en paralelo.
      * @param valores Un arreglo de valores decimales.
      */
     public void reiniciarArregloEnteros( double[] valores )
     {
     	listaEnteros.clear();
-        for (double v : valores) {
-            listaEnteros.add((int) v); 
-        }
+    	reservar(listaEnteros, valores.length);
+    	boolean paralelo = usarParalelo(valores.length);
+    	Integer[] bloque = new Integer[Math.min(valores.length, UMBRAL_PARALELO)];
+    	for (int inicio = 0; inicio < valores.length; inicio += bloque.length) {
+    	    int desde = inicio;
+    	    int cantidad = Math.min(bloque.length, valores.length - desde);
+    	    if (paralelo) {
+    	        IntStream.range(0, cantidad).parallel().forEach(i -> bloque[i] = (int) valores[desde + i]);
+    	    } else {
+    	        for (int i = 0; i < cantidad; i++) {
+    	            bloque[i] = (int) valores[desde + i];
+    	        }
+    	    }
+    	    listaEnteros.addAll(Arrays.asList(bloque).subList(0, cantidad));
+    	}
+    }
+
+    /**
+     * Reinicia la lista de enteros con los valores producidos por el stream, pero truncados.
+     * 
+     * Permite cargar la lista sin construir primero un arreglo de decimales.
+     * @param valores Un stream de valores decimales. El stream se consume completamente.
+     */
+    public void reiniciarArregloEnteros( DoubleStream valores )
+    {
+    	// Cada valor se trunca y se pone en su caja en una sola pasada, y la lista se carga con un solo addAll
+    	Integer[] truncados = valores.mapToObj(v -> (int) v).toArray(Integer[]::new);
+    	listaEnteros.clear();
+    	listaEnteros.addAll(Arrays.asList(truncados));
     }
 
     /**
      * Reinicia la lista de cadenas con las representaciones como Strings de los objetos contenidos en la lista del parámetro 'objetos'.
      * 
-     * Use el método toString para convertir los objetos a cadenas.
+     * Use el método toString para convertir los objetos a cadenas. La lista se dimensiona una sola vez y los objetos se convierten y se cargan por bloques
+     * de UMBRAL_PARALELO objetos. Si hay al menos UMBRAL_PARALELO objetos, cada bloque se convierte en paralelo.
      * @param valores Una lista de objetos
      */
     public void reiniciarArregloCadenas( List<Object> objetos )
     {
+    	int cantidadTotal = objetos.size();
     	listaCadenas.clear();
-        for (Object obj : objetos) {
-            listaCadenas.add(obj.toString());
-        }
+    	reservar(listaCadenas, cantidadTotal);
+    	boolean paralelo = usarParalelo(cantidadTotal);
+    	String[] bloque = new String[Math.min(cantidadTotal, UMBRAL_PARALELO)];
+    	// Los objetos se recorren con un solo iterador, porque objetos puede ser una lista enlazada
+    	Object[] fuente = paralelo ? new Object[bloque.length] : null;
+    	Iterator<Object> iterador = objetos.iterator();
+    	for (int inicio = 0; inicio < cantidadTotal; inicio += bloque.length) {
+    	    int cantidad = Math.min(bloque.length, cantidadTotal - inicio);
+    	    if (paralelo) {
+    	        for (int i = 0; i < cantidad; i++) {
+    	            fuente[i] = iterador.next();
+    	        }
+    	        IntStream.range(0, cantidad).parallel().forEach(i -> bloque[i] = fuente[i].toString());
+    	    } else {
+    	        for (int i = 0; i < cantidad; i++) {
+    	            bloque[i] = iterador.next().toString();
+    	        }
+    	    }
+    	    listaCadenas.addAll(Arrays.asList(bloque).subList(0, cantidad));
+    	}
+    }
 
+    /**
+     * Reinicia la lista de cadenas con las representaciones como Strings de los objetos que produce el iterador.
+     * 
+     * Permite cargar la lista sin construir primero una lista de objetos.
+     * @param objetos Un iterador de objetos. El iterador se consume completamente.
+     */
+    public void reiniciarArregloCadenas( Iterator<?> objetos )
+    {
+    	listaCadenas.clear();
+    	while (objetos.hasNext()) {
+    	    listaCadenas.add(objetos.next().toString());
+    	}
     }
 
     /**
      * Modifica la lista de enteros para que todos los valores sean positivos.
      * 
      * Es decir que si en una posición había un valor negativo, después de ejecutar el método debe quedar el mismo valor muliplicado por -1.
+     * 
+     * Si la lista es un ArrayList con al menos UMBRAL_PARALELO valores, las posiciones se actualizan en paralelo.
      */
     public void volverPositivos( )
     {
+    	if (listaEnteros instanceof ListaEnterosIndexada) {
+    	    listaEnteros.replaceAll(Math::abs);
+    	    return;
+    	}
+    	// Sólo en un ArrayList es seguro modificar posiciones distintas desde varios hilos a la vez
+    	if (listaEnteros instanceof ArrayList && usarParalelo(listaEnteros.size())) {
+    	    IntStream.range(0, listaEnteros.size()).parallel().forEach(i -> {
+    	        int val = listaEnteros.get(i);
+    	        if (val < 0) {
+    	            listaEnteros.set(i, -val);
+    	        }
+    	    });
+    	    return;
+    	}
     	for (int i = 0; i < listaEnteros.size(); i++) {
             int val = listaEnteros.get(i);
             listaEnteros.set(i, Math.abs(val)); // reemplazo por valor absoluto
@@ -217,11 +434,20 @@ public class SandboxListas
 
     /**
      * Cuenta cuántas veces aparece el valor recibido por parámetro en la lista de enteros
+     * 
+     * Si la lista de enteros es una ListaEnterosIndexada (la opción por defecto), el conteo se consulta en O(1). Si no lo es y la lista tiene al menos
+     * UMBRAL_PARALELO valores, el conteo se hace en paralelo.
      * @param valor El valor buscado
      * @return La cantidad de veces que aparece el valor
      */
     public int contarApariciones( int valor )
     {
+    	if (listaEnteros instanceof ListaEnterosIndexada) {
+    	    return ((ListaEnterosIndexada) listaEnteros).contar(valor);
+    	}
+    	if (usarParalelo(listaEnteros.size())) {
+    	    return (int) StreamSupport.intStream(spliteratorEnteros(), true).filter(num -> num == valor).count();
+    	}
     	int contador = 0;
         for (int num : listaEnteros) {
             if (num == valor) {
@@ -235,11 +461,20 @@ public class SandboxListas
      * Cuenta cuántas veces aparece la cadena recibida por parámetro en la lista de cadenas.
      * 
      * La búsqueda no debe diferenciar entre mayúsculas y minúsculas.
+     * 
+     * Si la lista de cadenas es una ListaCadenasIndexada (la opción por defecto), el conteo se consulta sin recorrer la lista. Si no lo es y la lista tiene al
+     * menos UMBRAL_PARALELO cadenas, el conteo se hace en paralelo.
      * @param cadena La cadena buscada
      * @return La cantidad de veces que aparece la cadena
      */
     public int contarApariciones( String cadena )
     {
+    	if (listaCadenas instanceof ListaCadenasIndexada) {
+    	    return ((ListaCadenasIndexada) listaCadenas).contarSinMayusculas(cadena);
+    	}
+    	if (usarParalelo(listaCadenas.size())) {
+    	    return (int) StreamSupport.stream(spliteratorCadenas(), true).filter(cad -> cad.equalsIgnoreCase(cadena)).count();
+    	}
     	 int contador = 0;
 
     	    for (String cad : listaCadenas) {
@@ -253,10 +488,22 @@ public class SandboxListas
 
     /**
      * Cuenta cuántos valores dentro de la lista de enteros están repetidos.
+     * 
+     * Si la lista de enteros es una ListaEnterosIndexada (la opción por defecto), el resultado se consulta en O(1). Si no lo es y la lista tiene al menos
+     * UMBRAL_PARALELO valores, el conteo se hace en paralelo.
      * @return La cantidad de enteos diferentes que aparecen más de una vez
      */
     public int contarEnterosRepetidos( )
     {
+    	if (listaEnteros instanceof ListaEnterosIndexada) {
+    	    return ((ListaEnterosIndexada) listaEnteros).getCantidadRepetidos();
+    	}
+    	if (usarParalelo(listaEnteros.size())) {
+    	    return (int) StreamSupport.intStream(spliteratorEnteros(), true).boxed()
+    	            .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting()))
+    	            .values().stream().filter(cantidad -> cantidad > 1).count();
+    	}
+
     	// Mapa para contar cuántas veces aparece cada número
     	
         java.util.Map<Integer, Integer> contador = new java.util.HashMap<>();
@@ -276,6 +523,47 @@ public class SandboxListas
         return repetidos;
     }
 
+    /**
+     * Retorna los k valores más grandes de la lista de enteros, organizados de MAYOR a MENOR, sin modificar la lista.
+     * 
+     * Si antes se invocó seguirMayores con un k mayor o igual, los mayores ya están ordenados (salvo que hayan cambiado desde la última consulta, en cuyo
+     * caso se ordenan en O(k log k)) y sólo se copian los primeros k. Si no, se calculan en O(n log k) con un montículo de tamaño k.
+     * @param k La cantidad de valores que se quieren obtener
+     * @return Un arreglo con los k valores más grandes, o con todos los valores si la lista tiene menos de k
+     * @throws IllegalArgumentException Si k es negativo
+     */
+    public int[] getMayores( int k )
+    {
+    	if (k < 0) {
+    	    throw new IllegalArgumentException("k no puede ser negativo: " + k);
+    	}
+    	if (listaEnteros instanceof ListaEnterosIndexada && ((ListaEnterosIndexada) listaEnteros).getKSeguido() >= k) {
+    	    return ((ListaEnterosIndexada) listaEnteros).getMayoresSeguidos(k);
+    	}
+    	// Nunca se conservan más valores que los que tiene la lista, así que getMayores(Integer.MAX_VALUE) retorna todos ordenados
+    	MonticuloMayores monticulo = new MonticuloMayores(Math.min(k, listaEnteros.size()));
+    	for (int num : listaEnteros) {
+    	    monticulo.ofrecer(num);
+    	}
+    	return monticulo.getMayoresAMenores();
+    }
+
+    /**
+     * Empieza a mantener actualizados los k valores más grandes de la lista de enteros, para que getMayores los retorne sin recorrer la lista.
+     * 
+     * Después de esto, agregarEntero actualiza los mayores en O(log k). Si se elimina un valor que estaba entre los mayores, se recalculan en la siguiente consulta.
+     * @param k La cantidad de valores más grandes que se van a mantener
+     * @throws UnsupportedOperationException Si la lista de enteros no es una ListaEnterosIndexada
+     * @throws IllegalArgumentException Si k es negativo
+     */
+    public void seguirMayores( int k )
+    {
+    	if (!(listaEnteros instanceof ListaEnterosIndexada)) {
+    	    throw new UnsupportedOperationException("La lista de enteros no permite seguir los mayores");
+    	}
+    	((ListaEnterosIndexada) listaEnteros).seguirMayores(k);
+    }
+
     /**
      * Compara la lista de enteros con un arreglo de enteros y verifica si contienen los mismos elementos exactamente en el mismo orden.
      * @param otroArreglo El arreglo de enteros con el que se debe comparar
@@ -0,0 +1,247 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Variante de SandboxListas que varios hilos pueden usar a la vez para agregar valores y hacer consultas agregadas.
+ *
+ * Los valores no se guardan en una sola lista sino en varias franjas, cada una con su propio candado. Cada hilo agrega siempre en la misma franja, así que
+ * hilos distintos casi nunca compiten por el mismo candado. Las franjas sólo se combinan cuando alguien pide una copia de las listas.
+ *
+ * Los tamaños y conteos toman el candado de una franja a la vez y suman los resultados, así que una consulta sólo detiene a los hilos de la franja que está
+ * leyendo. Como los valores sólo se agregan y cada agregar incrementa en 1 un único tamaño o conteo, la suma está siempre entre el total que había al
+ * empezar la consulta y el que hay al terminarla, y pasa por cada valor intermedio: el resultado es un total que la lista efectivamente tuvo en algún
+ * momento de la consulta, es decir, los tamaños y conteos son linealizables.
+ *
+ * Las copias, en cambio, toman los candados de todas las franjas (siempre en el mismo orden) antes de leerlas, para que cada copia corresponda a un solo
+ * estado de las listas.
+ *
+ * El orden de los valores se conserva dentro de cada hilo, pero no entre hilos distintos.
+ */
+public class SandboxListasConcurrente
+{
+    /**
+     * Los valores agregados por un grupo de hilos
+     */
+    private static final class Franja
+    {
+        private int[] enteros = new int[16];
+
+        private int cantidadEnteros;
+
+        private final ConteoEnteros conteo = new ConteoEnteros( );
+
+        private final List<String> cadenas = new ArrayList<String>( );
+    }
+
+    /**
+     * Las franjas donde se guardan los valores. Su cantidad es una potencia de 2.
+     */
+    private final Franja[] franjas;
+
+    /**
+     * Crea una nueva instancia con una franja por cada dos procesadores disponibles (redondeado a una potencia de 2)
+     */
+    public SandboxListasConcurrente( )
+    {
+        this( 2 * Runtime.getRuntime( ).availableProcessors( ) );
+    }
+
+    /**
+     * Crea una nueva instancia con la cantidad de franjas indicada
+     * @param cantidadFranjas La cantidad mínima de franjas. Se redondea hacia arriba a una potencia de 2.
+     */
+    public SandboxListasConcurrente( int cantidadFranjas )
+    {
+        if( cantidadFranjas <= 0 )
+            throw new IllegalArgumentException( "La cantidad de franjas debe ser mayor a 0: " + cantidadFranjas );
+        int cantidad = Integer.highestOneBit( cantidadFranjas );
+        if( cantidad < cantidadFranjas )
+            cantidad <<= 1;
+        franjas = new Franja[cantidad];
+        for( int i = 0; i < cantidad; i++ )
+        {
+            franjas[ i ] = new Franja( );
+        }
+    }
+
+    /**
+     * Retorna la franja donde agrega valores el hilo actual
+     */
+    private Franja franjaActual( )
+    {
+        long id = Thread.currentThread( ).getId( );
+        int h = ( int ) ( id ^ ( id >>> 32 ) ) * 0x9E3779B9;
+        return franjas[ ( h ^ ( h >>> 16 ) ) & ( franjas.length - 1 ) ];
+    }
+
+    /**
+     * Agrega un nuevo valor a la lista de enteros
+     * @param entero El valor que se va a agregar
+     */
+    public void agregarEntero( int entero )
+    {
+        Franja franja = franjaActual( );
+        synchronized( franja )
+        {
+            if( franja.cantidadEnteros == franja.enteros.length )
+                franja.enteros = Arrays.copyOf( franja.enteros, franja.enteros.length * 2 );
+            franja.enteros[ franja.cantidadEnteros++ ] = entero;
+            franja.conteo.incrementar( entero );
+        }
+    }
+
+    /**
+     * Agrega una nueva cadena a la lista de cadenas
+     * @param cadena La cadena que se va a agregar
+     */
+    public void agregarCadena( String cadena )
+    {
+        Franja franja = franjaActual( );
+        synchronized( franja )
+        {
+            franja.cadenas.add( cadena );
+        }
+    }
+
+    /**
+     * Retorna la cantidad de valores en la lista de enteros
+     * @return La cantidad de enteros
+     */
+    public int getCantidadEnteros( )
+    {
+        return sumarPorFranja( franja -> franja.cantidadEnteros );
+    }
+
+    /**
+     * Retorna la cantidad de valores en la lista de cadenas
+     * @return La cantidad de cadenas
+     */
+    public int getCantidadCadenas( )
+    {
+        return sumarPorFranja( franja -> franja.cadenas.size( ) );
+    }
+
+    /**
+     * Cuenta cuántas veces aparece el valor en la lista de enteros
+     * @param valor El valor buscado
+     * @return La cantidad de veces que aparece el valor
+     */
+    public int contarApariciones( int valor )
+    {
+        return sumarPorFranja( franja -> franja.conteo.contar( valor ) );
+    }
+
+    /**
+     * Cuenta cuántas veces aparece la cadena en la lista de cadenas, sin diferenciar entre mayúsculas y minúsculas
+     * 
+     * Cada franja se cuenta por separado con su propio candado, así que mientras se recorre una franja los hilos de las demás pueden seguir agregando. Las
+     * cadenas que se agreguen durante el conteo pueden contarse o no, pero el resultado siempre es un conteo que la lista tuvo en algún momento del recorrido.
+     * @param cadena La cadena buscada
+     * @return La cantidad de veces que aparece la cadena
+     */
+    public int contarApariciones( String cadena )
+    {
+        return sumarPorFranja( franja -> {
+            int contador = 0;
+            for( String cad : franja.cadenas )
+            {
+                if( cad.equalsIgnoreCase( cadena ) )
+                    contador++;
+            }
+            return contador;
+        } );
+    }
+
+    /**
+     * Retorna una copia de la lista de enteros, combinando todas las franjas
+     * @return Una lista nueva con todos los enteros
+     */
+    public List<Integer> getCopiaEnteros( )
+    {
+        List<Integer> copia = new ArrayList<Integer>( );
+        consultar( 0, franja -> {
+            for( int i = 0; i < franja.cantidadEnteros; i++ )
+            {
+                copia.add( franja.enteros[ i ] );
+            }
+            return 0;
+        } );
+        return copia;
+    }
+
+    /**
+     * Retorna una copia de la lista de cadenas, combinando todas las franjas
+     * @return Una lista nueva con todas las cadenas
+     */
+    public List<String> getCopiaCadenas( )
+    {
+        List<String> copia = new ArrayList<String>( );
+        consultar( 0, franja -> {
+            copia.addAll( franja.cadenas );
+            return 0;
+        } );
+        return copia;
+    }
+
+    /**
+     * Construye un SandboxListas (no concurrente) con el contenido actual de todas las franjas
+     * @return Un nuevo SandboxListas con los mismos enteros y cadenas
+     */
+    public SandboxListas aSandboxListas( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        consultar( 0, franja -> {
+            for( int i = 0; i < franja.cantidadEnteros; i++ )
+            {
+                sandbox.agregarEntero( franja.enteros[ i ] );
+            }
+            for( String cadena : franja.cadenas )
+            {
+                sandbox.agregarCadena( cadena );
+            }
+            return 0;
+        } );
+        return sandbox;
+    }
+
+    /**
+     * Una consulta parcial sobre una franja
+     */
+    private interface ConsultaFranja
+    {
+        int consultar( Franja franja );
+    }
+
+    /**
+     * Toma los candados de todas las franjas, en orden, y suma los resultados de la consulta sobre cada una
+     */
+    private int consultar( int desde, ConsultaFranja consulta )
+    {
+        if( desde == franjas.length )
+            return 0;
+        Franja franja = franjas[ desde ];
+        synchronized( franja )
+        {
+            return consultar( desde + 1, consulta ) + consulta.consultar( franja );
+        }
+    }
+
+    /**
+     * Suma los resultados de la consulta sobre cada franja, tomando el candado de una sola franja a la vez
+     */
+    private int sumarPorFranja( ConsultaFranja consulta )
+    {
+        int total = 0;
+        for( Franja franja : franjas )
+        {
+            synchronized( franja )
+            {
+                total += consulta.consultar( franja );
+            }
+        }
+        return total;
+    }
+}
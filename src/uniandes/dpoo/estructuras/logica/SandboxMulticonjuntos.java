@@ -0,0 +1,224 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Esta clase tiene un conjunto de métodos para practicar operaciones sobre multiconjuntos ordenados: conjuntos donde cada cadena puede estar varias veces.
+ *
+ * Todos los métodos deben operar sobre el atributo conteoCadenas, que se declara como un NavigableMap. Cada llave es una cadena del multiconjunto y su valor
+ * guarda la cantidad de veces que se ha agregado. Las cadenas que ya no están (su conteo llegó a 0) se eliminan del mapa, así que el mapa nunca tiene conteos
+ * en 0.
+ *
+ * Las llaves del mapa están ordenadas lexicográficamente, así que las operaciones de navegación son las mismas de SandboxConjuntos, y cada cadena ocupa una
+ * sola entrada del árbol en lugar de tener un SandboxConjuntos y un mapa de conteos aparte.
+ *
+ * No pueden agregarse nuevos atributos.
+ */
+public class SandboxMulticonjuntos
+{
+    /**
+     * Un mapa ordenado con la cantidad de veces que está cada cadena en el multiconjunto.
+     *
+     * Cada conteo se guarda en un arreglo de una posición que se modifica en su lugar, así que incrementar o decrementar una cadena que ya está hace una sola
+     * búsqueda en el árbol (la de get). Sólo agregar una cadena nueva (put) o eliminar la última vez que estaba (remove) necesitan una segunda búsqueda. Con
+     * un mapa de Integer, cada cambio tendría que volver a guardar el valor con put: dos búsquedas en Java 8, donde TreeMap no sobrescribe merge.
+     */
+    private NavigableMap<String, int[]> conteoCadenas;
+
+    /**
+     * Crea una nueva instancia de la clase con el multiconjunto inicializado pero vacío
+     */
+    public SandboxMulticonjuntos( )
+    {
+        conteoCadenas = new TreeMap<String, int[]>( );
+    }
+
+    /**
+     * Retorna una lista con las cadenas diferentes del multiconjunto, ordenadas lexicográficamente
+     * @return Una lista ordenada con las cadenas del multiconjunto, sin repetir
+     */
+    public List<String> getCadenasComoLista( )
+    {
+        return new ArrayList<>( conteoCadenas.keySet( ) );
+    }
+
+    /**
+     * Retorna la cadena que sea lexicográficamente menor en el multiconjunto.
+     *
+     * Si el multiconjunto está vacío, debe retornar null.
+     * @return La primera cadena del multiconjunto, o null si está vacío.
+     */
+    public String getPrimera( )
+    {
+        return conteoCadenas.isEmpty( ) ? null : conteoCadenas.firstKey( );
+    }
+
+    /**
+     * Retorna la cadena que sea lexicográficamente mayor en el multiconjunto.
+     *
+     * Si el multiconjunto está vacío, debe retornar null.
+     * @return La última cadena del multiconjunto, o null si está vacío.
+     */
+    public String getUltima( )
+    {
+        return conteoCadenas.isEmpty( ) ? null : conteoCadenas.lastKey( );
+    }
+
+    /**
+     * Retorna una colección con las cadenas diferentes del multiconjunto que son mayores o iguales a la cadena que se recibe por parámetro
+     * @param cadena
+     * @return Una colección de cadenas mayores a la cadena dada. Si la cadena hace parte del multiconjunto, debe hacer parte de la colección retornada.
+     */
+    public Collection<String> getSiguientes( String cadena )
+    {
+        return new ArrayList<>( conteoCadenas.tailMap( cadena, true ).keySet( ) );
+    }
+
+    /**
+     * Retorna la cantidad de cadenas diferentes en el multiconjunto
+     * @return
+     */
+    public int getCantidadCadenasDiferentes( )
+    {
+        return conteoCadenas.size( );
+    }
+
+    /**
+     * Retorna la cantidad total de cadenas en el multiconjunto, contando cada cadena tantas veces como esté
+     * @return La suma de los conteos de todas las cadenas
+     */
+    public long getCantidadTotal( )
+    {
+        long total = 0;
+        for( int[] conteo : conteoCadenas.values( ) )
+        {
+            total += conteo[ 0 ];
+        }
+        return total;
+    }
+
+    /**
+     * Retorna la cantidad de veces que está una cadena en el multiconjunto
+     * @param cadena La cadena buscada
+     * @return La cantidad de veces que se ha agregado la cadena (descontando las veces que se ha eliminado), o 0 si no está
+     */
+    public int contar( String cadena )
+    {
+        int[] conteo = conteoCadenas.get( cadena );
+        return conteo == null ? 0 : conteo[ 0 ];
+    }
+
+    /**
+     * Agrega una vez la cadena al multiconjunto
+     * @param cadena La cadena que se va a agregar.
+     * @return La cantidad de veces que está la cadena después de agregarla
+     */
+    public int agregarCadena( String cadena )
+    {
+        int[] conteo = conteoCadenas.get( cadena );
+        if( conteo == null )
+        {
+            conteoCadenas.put( cadena, new int[]{ 1 } );
+            return 1;
+        }
+        return ++conteo[ 0 ];
+    }
+
+    /**
+     * Elimina una vez la cadena del multiconjunto. Si era la última vez que estaba, la cadena deja de hacer parte del multiconjunto.
+     * @param cadena La cadena que se va a eliminar
+     * @return La cantidad de veces que queda la cadena después de eliminarla, o 0 si ya no está
+     */
+    public int eliminarCadena( String cadena )
+    {
+        int[] conteo = conteoCadenas.get( cadena );
+        if( conteo == null )
+        {
+            return 0;
+        }
+        if( --conteo[ 0 ] == 0 )
+        {
+            conteoCadenas.remove( cadena );
+        }
+        return conteo[ 0 ];
+    }
+
+    /**
+     * Elimina todas las veces que está la cadena en el multiconjunto
+     * @param cadena La cadena que se va a eliminar
+     * @return La cantidad de veces que estaba la cadena
+     */
+    public int eliminarTodas( String cadena )
+    {
+        int[] conteo = conteoCadenas.remove( cadena );
+        return conteo == null ? 0 : conteo[ 0 ];
+    }
+
+    /**
+     * Elimina una vez la primera cadena del multiconjunto
+     */
+    public void eliminarPrimera( )
+    {
+        if( !conteoCadenas.isEmpty( ) )
+        {
+            eliminarCadena( conteoCadenas.firstKey( ) );
+        }
+    }
+
+    /**
+     * Reinicia el multiconjunto con las representaciones como Strings de los objetos contenidos en la lista del parámetro 'objetos'. Cada cadena queda
+     * tantas veces como aparezca en la lista.
+     *
+     * Use el método toString para convertir los objetos a cadenas.
+     * @param objetos Una lista de objetos
+     */
+    public void reiniciarMulticonjunto( List<?> objetos )
+    {
+        conteoCadenas.clear( );
+        for( Object objeto : objetos )
+        {
+            agregarCadena( objeto.toString( ) );
+        }
+    }
+
+    /**
+     * Verifica si todos los elementos en el arreglo de cadenas del parámetro hacen parte del multiconjunto, sin importar cuántas veces estén
+     * @param otroArreglo El arreglo de cadenas con el que se debe comparar
+     * @return True si todos los elementos del arreglo están dentro del multiconjunto
+     */
+    public boolean compararElementos( String[] otroArreglo )
+    {
+        for( String s : otroArreglo )
+        {
+            if( !conteoCadenas.containsKey( s ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna la cadena que más veces está en el multiconjunto. Si hay empate, retorna la menor lexicográficamente.
+     * @return La cadena más frecuente, o null si el multiconjunto está vacío
+     */
+    public String getMasFrecuente( )
+    {
+        String masFrecuente = null;
+        int maximo = 0;
+        for( Map.Entry<String, int[]> entrada : conteoCadenas.entrySet( ) )
+        {
+            if( entrada.getValue( )[ 0 ] > maximo )
+            {
+                masFrecuente = entrada.getKey( );
+                maximo = entrada.getValue( )[ 0 ];
+            }
+        }
+        return masFrecuente;
+    }
+}
@@ -0,0 +1,97 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Spliterator de enteros primitivos sobre un rango de posiciones de una lista de acceso aleatorio.
+ *
+ * Cada división parte el rango por la mitad, así que las dos partes siempre conocen su tamaño exacto (SIZED y SUBSIZED) y el trabajo se reparte de forma
+ * balanceada entre los hilos de un ForkJoinPool.
+ *
+ * La lista no debe modificarse estructuralmente mientras se recorre.
+ */
+public class SpliteratorEnteros implements Spliterator.OfInt
+{
+    /**
+     * Cantidad mínima de elementos que debe tener un rango para dividirse
+     */
+    private static final int TAMANIO_MINIMO = 1 << 10;
+
+    /**
+     * La lista que se recorre
+     */
+    private final List<Integer> lista;
+
+    /**
+     * La siguiente posición que se va a recorrer
+     */
+    private int indice;
+
+    /**
+     * La posición siguiente a la última del rango
+     */
+    private final int fin;
+
+    /**
+     * Crea un spliterator sobre todos los elementos de la lista
+     * @param lista La lista que se va a recorrer. Debe implementar RandomAccess.
+     */
+    public SpliteratorEnteros( List<Integer> lista )
+    {
+        this( lista, 0, lista.size( ) );
+        if( ! ( lista instanceof RandomAccess ) )
+            throw new IllegalArgumentException( "La lista debe ser de acceso aleatorio" );
+    }
+
+    private SpliteratorEnteros( List<Integer> lista, int indice, int fin )
+    {
+        this.lista = lista;
+        this.indice = indice;
+        this.fin = fin;
+    }
+
+    @Override
+    public OfInt trySplit( )
+    {
+        int medio = ( indice + fin ) >>> 1;
+        if( fin - indice < TAMANIO_MINIMO )
+            return null;
+        SpliteratorEnteros primeraMitad = new SpliteratorEnteros( lista, indice, medio );
+        indice = medio;
+        return primeraMitad;
+    }
+
+    @Override
+    public boolean tryAdvance( IntConsumer accion )
+    {
+        if( indice >= fin )
+            return false;
+        accion.accept( lista.get( indice++ ) );
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining( IntConsumer accion )
+    {
+        for( int i = indice; i < fin; i++ )
+        {
+            accion.accept( lista.get( i ) );
+        }
+        indice = fin;
+    }
+
+    @Override
+    public long estimateSize( )
+    {
+        return fin - indice;
+    }
+
+    @Override
+    public int characteristics( )
+    {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
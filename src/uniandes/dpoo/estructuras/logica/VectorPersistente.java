@@ -0,0 +1,273 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Vector inmutable implementado como un trie de 32 ramas con una cola (tail) para los últimos elementos.
+ *
+ * Ninguna operación modifica la instancia sobre la que se invoca: agregar, asignar o quitar un elemento retorna una nueva versión que comparte casi toda su
+ * estructura con la versión anterior. Cada nueva versión cuesta O(log32 n) en tiempo y en memoria, y conservar una versión no cuesta nada.
+ * @param <E> El tipo de los elementos del vector
+ */
+public final class VectorPersistente<E>
+{
+    /**
+     * Cantidad de bits que se usan para indexar cada nivel del trie
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Cantidad de ramas de cada nodo
+     */
+    private static final int RAMAS = 1 << BITS;
+
+    private static final int MASCARA = RAMAS - 1;
+
+    /**
+     * Un nodo del trie. Los nodos nunca se modifican después de ser publicados en una versión.
+     */
+    private static final class Nodo
+    {
+        private final Object[] hijos;
+
+        private Nodo( Object[] hijos )
+        {
+            this.hijos = hijos;
+        }
+    }
+
+    private static final Nodo NODO_VACIO = new Nodo( new Object[RAMAS] );
+
+    private static final VectorPersistente<?> VACIO = new VectorPersistente<Object>( 0, BITS, NODO_VACIO, new Object[0] );
+
+    /**
+     * La cantidad de elementos del vector
+     */
+    private final int cantidad;
+
+    /**
+     * La cantidad de bits que hay que desplazar un índice para obtener la rama de la raíz
+     */
+    private final int desplazamiento;
+
+    /**
+     * La raíz del trie
+     */
+    private final Nodo raiz;
+
+    /**
+     * Los últimos elementos del vector (hasta 32), que todavía no se han incorporado al trie
+     */
+    private final Object[] cola;
+
+    private VectorPersistente( int cantidad, int desplazamiento, Nodo raiz, Object[] cola )
+    {
+        this.cantidad = cantidad;
+        this.desplazamiento = desplazamiento;
+        this.raiz = raiz;
+        this.cola = cola;
+    }
+
+    /**
+     * Retorna el vector vacío
+     * @return Un vector sin elementos
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> VectorPersistente<E> vacio( )
+    {
+        return ( VectorPersistente<E> )VACIO;
+    }
+
+    /**
+     * Retorna la cantidad de elementos del vector
+     * @return La cantidad de elementos
+     */
+    public int tamanio( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Retorna la posición del primer elemento que está en la cola
+     */
+    private int inicioCola( )
+    {
+        if( cantidad < RAMAS )
+            return 0;
+        return ( ( cantidad - 1 ) >>> BITS ) << BITS;
+    }
+
+    /**
+     * Retorna el arreglo (hoja o cola) donde se encuentra el elemento de la posición dada
+     */
+    private Object[] hojaDe( int posicion )
+    {
+        if( posicion < 0 || posicion >= cantidad )
+            throw new IndexOutOfBoundsException( "Posición: " + posicion + ", tamaño: " + cantidad );
+        if( posicion >= inicioCola( ) )
+            return cola;
+        Nodo nodo = raiz;
+        for( int nivel = desplazamiento; nivel > 0; nivel -= BITS )
+        {
+            nodo = ( Nodo )nodo.hijos[ ( posicion >>> nivel ) & MASCARA ];
+        }
+        return nodo.hijos;
+    }
+
+    /**
+     * Retorna el elemento que se encuentra en la posición dada
+     * @param posicion La posición del elemento
+     * @return El elemento
+     */
+    @SuppressWarnings("unchecked")
+    public E obtener( int posicion )
+    {
+        return ( E )hojaDe( posicion )[ posicion & MASCARA ];
+    }
+
+    /**
+     * Retorna una nueva versión del vector donde el elemento de la posición dada fue reemplazado
+     * @param posicion La posición que se va a reemplazar
+     * @param elemento El nuevo elemento
+     * @return La nueva versión del vector
+     */
+    public VectorPersistente<E> asignar( int posicion, E elemento )
+    {
+        if( posicion < 0 || posicion >= cantidad )
+            throw new IndexOutOfBoundsException( "Posición: " + posicion + ", tamaño: " + cantidad );
+        if( posicion >= inicioCola( ) )
+        {
+            Object[] nuevaCola = cola.clone( );
+            nuevaCola[ posicion & MASCARA ] = elemento;
+            return new VectorPersistente<E>( cantidad, desplazamiento, raiz, nuevaCola );
+        }
+        return new VectorPersistente<E>( cantidad, desplazamiento, asignar( desplazamiento, raiz, posicion, elemento ), cola );
+    }
+
+    private static Nodo asignar( int nivel, Nodo nodo, int posicion, Object elemento )
+    {
+        Nodo copia = new Nodo( nodo.hijos.clone( ) );
+        if( nivel == 0 )
+        {
+            copia.hijos[ posicion & MASCARA ] = elemento;
+        }
+        else
+        {
+            int rama = ( posicion >>> nivel ) & MASCARA;
+            copia.hijos[ rama ] = asignar( nivel - BITS, ( Nodo )nodo.hijos[ rama ], posicion, elemento );
+        }
+        return copia;
+    }
+
+    /**
+     * Retorna una nueva versión del vector con el elemento agregado al final
+     * @param elemento El elemento que se va a agregar
+     * @return La nueva versión del vector
+     */
+    public VectorPersistente<E> agregar( E elemento )
+    {
+        if( cantidad - inicioCola( ) < RAMAS )
+        {
+            Object[] nuevaCola = Arrays.copyOf( cola, cola.length + 1 );
+            nuevaCola[ cola.length ] = elemento;
+            return new VectorPersistente<E>( cantidad + 1, desplazamiento, raiz, nuevaCola );
+        }
+
+        // La cola está llena: se incorpora al trie y se empieza una nueva
+        Nodo hoja = new Nodo( cola );
+        Nodo nuevaRaiz;
+        int nuevoDesplazamiento = desplazamiento;
+        if( ( cantidad >>> BITS ) > ( 1 << desplazamiento ) )
+        {
+            nuevaRaiz = new Nodo( new Object[RAMAS] );
+            nuevaRaiz.hijos[ 0 ] = raiz;
+            nuevaRaiz.hijos[ 1 ] = nuevoCamino( desplazamiento, hoja );
+            nuevoDesplazamiento += BITS;
+        }
+        else
+        {
+            nuevaRaiz = agregarHoja( desplazamiento, raiz, hoja );
+        }
+        return new VectorPersistente<E>( cantidad + 1, nuevoDesplazamiento, nuevaRaiz, new Object[]{ elemento } );
+    }
+
+    private Nodo agregarHoja( int nivel, Nodo padre, Nodo hoja )
+    {
+        int rama = ( ( cantidad - 1 ) >>> nivel ) & MASCARA;
+        Nodo copia = new Nodo( padre.hijos.clone( ) );
+        Nodo insertado;
+        if( nivel == BITS )
+        {
+            insertado = hoja;
+        }
+        else
+        {
+            Nodo hijo = ( Nodo )padre.hijos[ rama ];
+            insertado = hijo != null ? agregarHoja( nivel - BITS, hijo, hoja ) : nuevoCamino( nivel - BITS, hoja );
+        }
+        copia.hijos[ rama ] = insertado;
+        return copia;
+    }
+
+    private static Nodo nuevoCamino( int nivel, Nodo hoja )
+    {
+        if( nivel == 0 )
+            return hoja;
+        Nodo nodo = new Nodo( new Object[RAMAS] );
+        nodo.hijos[ 0 ] = nuevoCamino( nivel - BITS, hoja );
+        return nodo;
+    }
+
+    /**
+     * Retorna una nueva versión del vector sin su último elemento
+     * @return La nueva versión del vector
+     * @throws NoSuchElementException Si el vector está vacío
+     */
+    public VectorPersistente<E> quitarUltimo( )
+    {
+        if( cantidad == 0 )
+            throw new NoSuchElementException( "El vector está vacío" );
+        if( cantidad == 1 )
+            return vacio( );
+        if( cantidad - inicioCola( ) > 1 )
+        {
+            Object[] nuevaCola = Arrays.copyOf( cola, cola.length - 1 );
+            return new VectorPersistente<E>( cantidad - 1, desplazamiento, raiz, nuevaCola );
+        }
+
+        // La cola queda vacía: la última hoja del trie pasa a ser la nueva cola
+        Object[] nuevaCola = hojaDe( cantidad - 2 );
+        Nodo nuevaRaiz = quitarHoja( desplazamiento, raiz );
+        int nuevoDesplazamiento = desplazamiento;
+        if( nuevaRaiz == null )
+        {
+            nuevaRaiz = NODO_VACIO;
+        }
+        if( desplazamiento > BITS && nuevaRaiz.hijos[ 1 ] == null )
+        {
+            nuevaRaiz = ( Nodo )nuevaRaiz.hijos[ 0 ];
+            nuevoDesplazamiento -= BITS;
+        }
+        return new VectorPersistente<E>( cantidad - 1, nuevoDesplazamiento, nuevaRaiz, nuevaCola );
+    }
+
+    private Nodo quitarHoja( int nivel, Nodo nodo )
+    {
+        int rama = ( ( cantidad - 2 ) >>> nivel ) & MASCARA;
+        if( nivel > BITS )
+        {
+            Nodo nuevoHijo = quitarHoja( nivel - BITS, ( Nodo )nodo.hijos[ rama ] );
+            if( nuevoHijo == null && rama == 0 )
+                return null;
+            Nodo copia = new Nodo( nodo.hijos.clone( ) );
+            copia.hijos[ rama ] = nuevoHijo;
+            return copia;
+        }
+        if( rama == 0 )
+            return null;
+        Nodo copia = new Nodo( nodo.hijos.clone( ) );
+        copia.hijos[ rama ] = null;
+        return copia;
+    }
+}
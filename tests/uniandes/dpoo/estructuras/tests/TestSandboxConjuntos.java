@@ -3,18 +3,35 @@ package uniandes.dpoo.estructuras.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NavigableSet;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uniandes.dpoo.estructuras.logica.ArbolEstadistico;
+import uniandes.dpoo.estructuras.logica.ArbolRadix;
+import uniandes.dpoo.estructuras.logica.ConjuntoComprimido;
+import uniandes.dpoo.estructuras.logica.ConjuntoIndexado;
+import uniandes.dpoo.estructuras.logica.ListaCadenasIndexada;
+import uniandes.dpoo.estructuras.logica.PaginaCadenas;
 import uniandes.dpoo.estructuras.logica.SandboxConjuntos;
 
 class TestSandboxConjuntos
@@ -354,4 +371,587 @@ class TestSandboxConjuntos
         assertFalse( sencillo.compararElementos( cadenasMayusculasOrdenadas ), "No comparó correctamente los arreglos cuando eran diferentes" );
     }
 
+    @Test
+    void testArbolRadix( )
+    {
+        SandboxConjuntos radix = new SandboxConjuntos( new ArbolRadix( ) );
+        for( int i = 0; i < cadenasSencillas.length; i++ )
+        {
+            radix.agregarCadena( cadenasSencillas[ i ] );
+        }
+        assertEquals( sencillo.getCadenasComoLista( ), radix.getCadenasComoLista( ), "El árbol radix no tiene las mismas cadenas que el TreeSet" );
+        assertEquals( sencillo.getCadenasComoListaInvertida( ), radix.getCadenasComoListaInvertida( ), "El árbol radix no invierte las cadenas correctamente" );
+        assertEquals( new ArrayList<String>( sencillo.getSiguientes( "b" ) ), new ArrayList<String>( radix.getSiguientes( "b" ) ), "Los siguientes no son los mismos" );
+
+        radix.eliminarPrimera( );
+        radix.volverMayusculas( );
+        assertEquals( Arrays.asList( "A", "C", "D", "E" ), radix.getCadenasComoLista( ), "No se ajustaron correctamente las cadenas a mayúsculas" );
+    }
+
+    @Test
+    void testArbolRadixNavegacion( )
+    {
+        ArbolRadix radix = new ArbolRadix( );
+        TreeSet<String> esperado = new TreeSet<String>( );
+        String[] urls = { "http://a.com/x", "http://a.com/xy", "http://a.com/", "http://b.org/z", "http://a.com/xa", "http", "" };
+        for( String url : urls )
+        {
+            assertEquals( esperado.add( url ), radix.add( url ), "La inserción no retornó el valor esperado" );
+        }
+        assertFalse( radix.add( "http://a.com/x" ), "Una cadena repetida no debería agregarse" );
+
+        assertEquals( new ArrayList<String>( esperado ), new ArrayList<String>( radix ), "El orden no es lexicográfico" );
+        assertEquals( new ArrayList<String>( esperado.descendingSet( ) ), new ArrayList<String>( radix.descendingSet( ) ), "El orden descendente no es correcto" );
+        assertEquals( new ArrayList<String>( esperado.tailSet( "http://a.com/x", false ) ), new ArrayList<String>( radix.tailSet( "http://a.com/x", false ) ),
+                "La vista tailSet no es correcta" );
+        assertEquals( esperado.first( ), radix.first( ), "La primera cadena no es correcta" );
+        assertEquals( esperado.last( ), radix.last( ), "La última cadena no es correcta" );
+        assertEquals( esperado.ceiling( "http://a.com/xb" ), radix.ceiling( "http://a.com/xb" ), "ceiling no es correcto" );
+        assertEquals( esperado.floor( "http://a.com/xb" ), radix.floor( "http://a.com/xb" ), "floor no es correcto" );
+
+        assertEquals( esperado.pollFirst( ), radix.pollFirst( ), "pollFirst no retornó la primera cadena" );
+        assertTrue( radix.remove( "http://a.com/x" ), "No se eliminó una cadena existente" );
+        assertFalse( radix.contains( "http://a.com/x" ), "La cadena eliminada sigue en el conjunto" );
+        assertTrue( radix.contains( "http://a.com/xy" ), "Eliminar una cadena no debería afectar sus extensiones" );
+        assertEquals( esperado.size( ) - 1, radix.size( ), "El tamaño no es correcto después de eliminar" );
+    }
+
+    @Test
+    void testArbolRadixMemoria( )
+    {
+        List<String> urls = new ArrayList<String>( );
+        for( int i = 0; i < 1000; i++ )
+        {
+            urls.add( "https://www.ejemplo.com/productos/categoria/" + ( i % 10 ) + "/articulo/" + i );
+        }
+        ArbolRadix radix = new ArbolRadix( urls );
+        assertEquals( urls.size( ), radix.size( ), "No se agregaron todas las cadenas" );
+        assertTrue( radix.getBytesEstimados( ) * 2 < ArbolRadix.estimarBytesTreeSet( urls ), "El árbol radix debería ocupar mucho menos memoria que un TreeSet" );
+    }
+
+    @Test
+    void testContieneSinMayusculas( )
+    {
+        assertTrue( sencillo.contieneSinMayusculas( "A" ), "Debería encontrar la cadena sin importar mayúsculas" );
+        assertTrue( sencillo.contieneSinMayusculas( "b" ), "Debería encontrar la cadena sin importar mayúsculas" );
+        assertFalse( sencillo.contieneSinMayusculas( "z" ), "No debería encontrar una cadena que no está" );
+        assertFalse( vacio.contieneSinMayusculas( "a" ), "No debería encontrar cadenas en el sandbox vacío" );
+    }
+
+    @Test
+    void testIndiceSinMayusculasSincronizado( )
+    {
+        sencillo.agregarCadena( "A" );
+        sencillo.eliminarCadenaSinMayusculasOMinusculas( "a" );
+        assertEquals( Arrays.asList( "B", "a", "c", "d", "e" ), sencillo.getCadenasComoLista( ), "Debería eliminar la primera variante en orden lexicográfico" );
+
+        sencillo.eliminarPrimera( );
+        assertFalse( sencillo.contieneSinMayusculas( "b" ), "El índice no se actualizó al eliminar la primera cadena" );
+
+        sencillo.eliminarCadena( "a" );
+        assertFalse( sencillo.contieneSinMayusculas( "A" ), "El índice no se actualizó al eliminar una cadena" );
+
+        sencillo.volverMayusculas( );
+        sencillo.eliminarCadenaSinMayusculasOMinusculas( "c" );
+        assertEquals( Arrays.asList( "D", "E" ), sencillo.getCadenasComoLista( ), "El índice no se actualizó al volver mayúsculas las cadenas" );
+
+        sencillo.reiniciarConjuntoCadenas( Arrays.asList( "Hola", "mundo" ) );
+        assertFalse( sencillo.contieneSinMayusculas( "d" ), "El índice no se actualizó al reiniciar el conjunto" );
+        assertTrue( sencillo.contieneSinMayusculas( "HOLA" ), "El índice no se actualizó al reiniciar el conjunto" );
+    }
+
+    @Test
+    void testIndiceSinMayusculasPerezoso( )
+    {
+        ConjuntoIndexado indexado = new ConjuntoIndexado( new TreeSet<String>( Arrays.asList( "Uno", "dos" ) ) );
+        indexado.add( "TRES" );
+        indexado.addAll( Arrays.asList( "cuatro", "DOS" ) );
+        indexado.remove( "Uno" );
+        assertFalse( indexado.tieneIndice( ), "El índice no debería construirse mientras no se hagan consultas sin mayúsculas" );
+
+        assertTrue( indexado.contieneSinMayusculas( "tres" ), "El índice debería incluir las cadenas agregadas antes de construirlo" );
+        assertFalse( indexado.contieneSinMayusculas( "uno" ), "El índice no debería incluir las cadenas eliminadas antes de construirlo" );
+        assertEquals( "DOS", indexado.buscarSinMayusculas( "Dos" ), "Debería retornar la primera variante en orden lexicográfico" );
+        assertTrue( indexado.tieneIndice( ), "La primera consulta sin mayúsculas debería construir el índice" );
+
+        indexado.remove( "DOS" );
+        indexado.add( "Cinco" );
+        assertEquals( "dos", indexado.buscarSinMayusculas( "DOS" ), "El índice no se actualizó después de construirlo" );
+        assertTrue( indexado.contieneSinMayusculas( "CINCO" ), "El índice no se actualizó después de construirlo" );
+
+        indexado.add( "Dos" );
+        indexado.add( "DOS" );
+        indexado.remove( "dos" );
+        assertEquals( "DOS", indexado.buscarSinMayusculas( "dos" ), "El índice no se actualizó con varias escrituras de la misma cadena" );
+        indexado.remove( "DOS" );
+        indexado.remove( "Dos" );
+        assertFalse( indexado.contieneSinMayusculas( "dos" ), "El índice no debería tener una cadena después de eliminar todas sus escrituras" );
+
+        String plegada = "ya plegada";
+        assertTrue( plegada == ListaCadenasIndexada.plegar( plegada ), "Plegar una cadena ya plegada no debería crear una copia" );
+        assertEquals( "con mayúsculas", ListaCadenasIndexada.plegar( "Con MAYÚSCULAS" ), "La forma plegada no es correcta" );
+    }
+
+    @Test
+    void testPaginaSiguientes( )
+    {
+        PaginaCadenas pagina = sencillo.getPaginaSiguientes( null, 2 );
+        assertEquals( Arrays.asList( "B", "a" ), new ArrayList<String>( pagina ), "La primera página no es correcta" );
+        assertEquals( "c", pagina.getSiguienteCursor( ), "El cursor de la página siguiente no es correcto" );
+
+        pagina = sencillo.getPaginaSiguientes( pagina.getSiguienteCursor( ), 2 );
+        assertEquals( Arrays.asList( "c", "d" ), new ArrayList<String>( pagina ), "La segunda página no es correcta" );
+
+        pagina = sencillo.getPaginaSiguientes( pagina.getSiguienteCursor( ), 2 );
+        assertEquals( Arrays.asList( "e" ), new ArrayList<String>( pagina ), "La última página no es correcta" );
+        assertNull( pagina.getSiguienteCursor( ), "La última página no debería tener cursor siguiente" );
+        assertFalse( pagina.haySiguiente( ), "La última página no debería tener página siguiente" );
+
+        assertEquals( Arrays.asList( "c", "d" ), new ArrayList<String>( sencillo.getPaginaSiguientes( "bb", 2 ) ), "El cursor no tiene que estar en el conjunto" );
+        assertTrue( vacio.getPaginaSiguientes( null, 10 ).isEmpty( ), "La página de un conjunto vacío debería estar vacía" );
+        assertThrows( IllegalArgumentException.class, ( ) -> sencillo.getPaginaSiguientes( null, 0 ) );
+    }
+
+    @Test
+    void testPaginaAnteriores( )
+    {
+        PaginaCadenas pagina = sencillo.getPaginaAnteriores( null, 3 );
+        assertEquals( Arrays.asList( "e", "d", "c" ), new ArrayList<String>( pagina ), "La primera página descendente no es correcta" );
+        assertEquals( "a", pagina.getSiguienteCursor( ), "El cursor de la página siguiente no es correcto" );
+
+        pagina = sencillo.getPaginaAnteriores( pagina.getSiguienteCursor( ), 3 );
+        assertEquals( Arrays.asList( "a", "B" ), new ArrayList<String>( pagina ), "La segunda página descendente no es correcta" );
+        assertNull( pagina.getSiguienteCursor( ), "La última página no debería tener cursor siguiente" );
+    }
+
+    @Test
+    void testPaginaEsVistaViva( )
+    {
+        PaginaCadenas pagina = sencillo.getPaginaSiguientes( "c", 2 );
+        sencillo.agregarCadena( "ca" );
+        assertEquals( Arrays.asList( "c", "ca" ), new ArrayList<String>( pagina ), "La página debería reflejar los cambios del conjunto" );
+
+        Iterator<String> iterador = pagina.iterator( );
+        iterador.next( );
+        iterador.remove( );
+        assertFalse( sencillo.getCadenasComoLista( ).contains( "c" ), "Eliminar con el iterador de la página debería eliminar del conjunto" );
+        assertEquals( 2, pagina.size( ), "La página no debería pasar del límite" );
+    }
+
+    @Test
+    void testReiniciarConjuntoGrande( )
+    {
+        List<Object> objetos = new ArrayList<Object>( );
+        TreeSet<String> esperado = new TreeSet<String>( );
+        for( int i = 0; i < 50000; i++ )
+        {
+            int valor = ( i * 7919 ) % 20000;
+            objetos.add( valor );
+            esperado.add( Integer.toString( valor ) );
+        }
+        sencillo.reiniciarConjuntoCadenas( objetos );
+        assertEquals( new ArrayList<String>( esperado ), sencillo.getCadenasComoLista( ), "El conjunto no se reinició correctamente" );
+        assertTrue( sencillo.contieneSinMayusculas( "19999" ), "El índice no se actualizó al reiniciar el conjunto" );
+
+        sencillo.reiniciarConjuntoCadenas( new ArrayList<Object>( ) );
+        assertEquals( 0, sencillo.getCantidadCadenas( ), "Reiniciar con una lista vacía debería dejar el conjunto vacío" );
+    }
+
+    @Test
+    void testVolverMayusculasDesordena( )
+    {
+        sencillo.reiniciarConjuntoCadenas( Arrays.asList( "Z", "a", "b", "bB", "Bb", "y" ) );
+        sencillo.volverMayusculas( );
+        assertEquals( Arrays.asList( "A", "B", "BB", "Y", "Z" ), sencillo.getCadenasComoLista( ), "Las cadenas no quedaron ordenadas después de volverlas mayúsculas" );
+    }
+
+    @Test
+    void testCongelar( )
+    {
+        sencillo.congelar( );
+        assertTrue( sencillo.estaCongelado( ), "El conjunto debería estar congelado" );
+        assertEquals( Arrays.asList( cadenasOrdenadas ), sencillo.getCadenasComoLista( ), "Congelar no debería cambiar las cadenas" );
+        assertEquals( "B", sencillo.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( "e", sencillo.getUltima( ), "La última cadena no es correcta" );
+        assertEquals( Arrays.asList( "c", "d", "e" ), new ArrayList<String>( sencillo.getSiguientes( "bb" ) ), "Las cadenas siguientes no son correctas" );
+        assertEquals( Arrays.asList( "d", "c" ), new ArrayList<String>( sencillo.getPaginaAnteriores( "d", 2 ) ), "La página descendente no es correcta" );
+        assertTrue( sencillo.compararElementos( new String[]{ "a", "e" } ), "Las cadenas deberían estar en el conjunto" );
+        assertFalse( sencillo.compararElementos( new String[]{ "a", "f" } ), "La cadena 'f' no debería estar en el conjunto" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> sencillo.agregarCadena( "f" ) );
+        assertThrows( UnsupportedOperationException.class, ( ) -> sencillo.eliminarPrimera( ) );
+
+        sencillo.descongelar( );
+        assertFalse( sencillo.estaCongelado( ), "El conjunto no debería estar congelado" );
+        sencillo.agregarCadena( "f" );
+        sencillo.eliminarCadenaSinMayusculasOMinusculas( "b" );
+        assertEquals( Arrays.asList( "a", "c", "d", "e", "f" ), sencillo.getCadenasComoLista( ), "El conjunto descongelado debería poder modificarse" );
+    }
+
+    @Test
+    void testCongelarVacio( )
+    {
+        vacio.congelar( );
+        assertNull( vacio.getPrimera( ), "Un conjunto congelado vacío no tiene primera cadena" );
+        assertEquals( 0, vacio.getCantidadCadenas( ), "El conjunto congelado debería estar vacío" );
+        assertTrue( vacio.getSiguientes( "a" ).isEmpty( ), "No debería haber cadenas siguientes" );
+    }
+
+    @Test
+    void testFiltroBloom( )
+    {
+        sencillo.activarFiltroBloom( );
+        assertTrue( sencillo.compararElementos( new String[]{ "a", "B", "e" } ), "Las cadenas deberían estar en el conjunto" );
+        assertFalse( sencillo.compararElementos( new String[]{ "a", "x" } ), "La cadena 'x' no debería estar en el conjunto" );
+
+        sencillo.eliminarCadena( "a" );
+        assertFalse( sencillo.compararElementos( new String[]{ "a" } ), "El filtro no se actualizó al eliminar una cadena" );
+        for( int i = 0; i < 1000; i++ )
+        {
+            sencillo.agregarCadena( "cadena" + i );
+        }
+        assertTrue( sencillo.compararElementos( new String[]{ "cadena0", "cadena999", "B" } ), "El filtro no se actualizó al agregar cadenas" );
+
+        sencillo.volverMayusculas( );
+        assertTrue( sencillo.compararElementos( new String[]{ "CADENA0", "B" } ), "El filtro no se actualizó al volver mayúsculas las cadenas" );
+        assertFalse( sencillo.compararElementos( new String[]{ "cadena0" } ), "El filtro no se actualizó al volver mayúsculas las cadenas" );
+
+        sencillo.desactivarFiltroBloom( );
+        assertTrue( sencillo.compararElementos( new String[]{ "CADENA0" } ), "Desactivar el filtro no debería cambiar los resultados" );
+    }
+
+    @Test
+    void testCompararElementosGrande( )
+    {
+        List<Object> objetos = new ArrayList<Object>( );
+        String[] presentes = new String[SandboxConjuntos.UMBRAL_PARALELO];
+        for( int i = 0; i < presentes.length; i++ )
+        {
+            objetos.add( i );
+            presentes[ presentes.length - 1 - i ] = Integer.toString( i );
+        }
+        sencillo.reiniciarConjuntoCadenas( objetos );
+        assertTrue( sencillo.compararElementos( presentes ), "Todas las cadenas deberían estar en el conjunto" );
+
+        presentes[ 100 ] = "no está";
+        assertFalse( sencillo.compararElementos( presentes ), "Una cadena no está en el conjunto" );
+
+        sencillo.activarFiltroBloom( );
+        assertFalse( sencillo.compararElementos( presentes ), "Una cadena no está en el conjunto" );
+        presentes[ 100 ] = "0";
+        assertTrue( sencillo.compararElementos( presentes ), "Las cadenas repetidas también están en el conjunto" );
+
+        SandboxConjuntos concurrente = SandboxConjuntos.crearConcurrente( );
+        concurrente.reiniciarConjuntoCadenas( objetos );
+        assertTrue( concurrente.compararElementos( presentes ), "En modo concurrente todas las cadenas deberían estar" );
+        presentes[ 100 ] = "no está";
+        assertFalse( concurrente.compararElementos( presentes ), "En modo concurrente una cadena no está en el conjunto" );
+    }
+
+    @Test
+    void testFiltroBloomNoSoportado( )
+    {
+        SandboxConjuntos radix = new SandboxConjuntos( new ArbolRadix( ) );
+        assertThrows( UnsupportedOperationException.class, ( ) -> radix.activarFiltroBloom( ) );
+    }
+
+    @Test
+    void testRangoYKesima( )
+    {
+        assertEquals( 0, sencillo.rango( "B" ), "El rango de la primera cadena no es correcto" );
+        assertEquals( 2, sencillo.rango( "c" ), "El rango no es correcto" );
+        assertEquals( 2, sencillo.rango( "bb" ), "El rango de una cadena que no está no es correcto" );
+        assertEquals( 5, sencillo.rango( "z" ), "El rango de una cadena mayor a todas no es correcto" );
+        assertEquals( "B", sencillo.kesima( 0 ), "La cadena en la posición 0 no es correcta" );
+        assertEquals( "d", sencillo.kesima( 3 ), "La cadena en la posición 3 no es correcta" );
+        assertThrows( IndexOutOfBoundsException.class, ( ) -> sencillo.kesima( 5 ) );
+        assertThrows( IndexOutOfBoundsException.class, ( ) -> vacio.kesima( 0 ) );
+        assertEquals( 3, sencillo.contarEntre( "a", "e" ), "La cantidad de cadenas en el rango no es correcta" );
+        assertEquals( 0, sencillo.contarEntre( "e", "a" ), "Un rango invertido no tiene cadenas" );
+    }
+
+    @Test
+    void testArbolEstadistico( )
+    {
+        ArbolEstadistico arbol = new ArbolEstadistico( );
+        SandboxConjuntos estadistico = new SandboxConjuntos( new ConjuntoIndexado( arbol ) );
+        List<Object> objetos = new ArrayList<Object>( );
+        for( int i = 0; i < 1000; i++ )
+        {
+            objetos.add( String.format( "%04d", i ) );
+        }
+        estadistico.reiniciarConjuntoCadenas( objetos );
+        estadistico.eliminarCadena( "0500" );
+
+        assertEquals( 999, estadistico.getCantidadCadenas( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( 500, estadistico.rango( "0500" ), "El rango de una cadena eliminada no es correcto" );
+        assertEquals( 500, estadistico.rango( "0501" ), "El rango no es correcto" );
+        assertEquals( "0501", estadistico.kesima( 500 ), "La cadena en la posición 500 no es correcta" );
+        assertEquals( 99, estadistico.contarEntre( "0450", "0550" ), "La cantidad de cadenas en el rango no es correcta" );
+        assertEquals( 499, estadistico.getSiguientes( "0501" ).size( ), "Las cadenas siguientes no son correctas" );
+        assertEquals( Arrays.asList( "0998", "0997" ), new ArrayList<String>( estadistico.getPaginaAnteriores( "0998", 2 ) ), "La página no es correcta" );
+
+        estadistico.eliminarCadenaSinMayusculasOMinusculas( "0000" );
+        assertEquals( "0001", arbol.kesima( 0 ), "El árbol no se actualizó al eliminar sin mayúsculas" );
+        assertEquals( 998, arbol.size( ), "El árbol no se actualizó al eliminar sin mayúsculas" );
+    }
+
+    @Test
+    void testModoConcurrente( )
+    {
+        SandboxConjuntos concurrente = SandboxConjuntos.crearConcurrente( );
+        assertTrue( concurrente.esConcurrente( ), "El sandbox debería estar en modo concurrente" );
+        assertFalse( sencillo.esConcurrente( ), "El sandbox por defecto no es concurrente" );
+        assertNull( concurrente.getPrimera( ), "Un conjunto vacío no tiene primera cadena" );
+        assertNull( concurrente.getUltima( ), "Un conjunto vacío no tiene última cadena" );
+
+        concurrente.reiniciarConjuntoCadenas( Arrays.asList( cadenasSencillas ) );
+        assertEquals( Arrays.asList( cadenasOrdenadas ), concurrente.getCadenasComoLista( ), "El conjunto no se reinició correctamente" );
+        concurrente.volverMayusculas( );
+        assertEquals( Arrays.asList( cadenasMayusculasOrdenadas ), concurrente.getCadenasComoLista( ), "Las cadenas no se volvieron mayúsculas" );
+        assertTrue( concurrente.esConcurrente( ), "Reiniciar el conjunto no debería cambiar el modo" );
+        concurrente.eliminarCadenaSinMayusculasOMinusculas( "c" );
+        concurrente.eliminarPrimera( );
+        assertEquals( "B", concurrente.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( "E", concurrente.getUltima( ), "La última cadena no es correcta" );
+    }
+
+    @Test
+    void testLectoresConcurrentes( ) throws Exception
+    {
+        SandboxConjuntos concurrente = SandboxConjuntos.crearConcurrente( );
+        List<Object> viejas = new ArrayList<Object>( );
+        List<Object> nuevas = new ArrayList<Object>( );
+        for( int i = 0; i < 1000; i++ )
+        {
+            viejas.add( "v" + i );
+            nuevas.add( "n" + i );
+        }
+        concurrente.reiniciarConjuntoCadenas( viejas );
+
+        AtomicBoolean terminar = new AtomicBoolean( );
+        AtomicReference<Throwable> error = new AtomicReference<Throwable>( );
+        List<Thread> lectores = new ArrayList<Thread>( );
+        for( int i = 0; i < 4; i++ )
+        {
+            Thread lector = new Thread( ( ) -> {
+                try
+                {
+                    while( !terminar.get( ) )
+                    {
+                        concurrente.getPrimera( );
+                        concurrente.getUltima( );
+                        concurrente.getSiguientes( "v5" );
+                        // Cada reemplazo es atómico: se ve el conjunto anterior o el nuevo, nunca una mezcla de los dos
+                        int cantidad = concurrente.getSiguientes( "" ).size( );
+                        if( cantidad < 999 || cantidad > 1001 )
+                            throw new AssertionError( "Se vio un conjunto a medio reemplazar: " + cantidad );
+                    }
+                }
+                catch( Throwable t )
+                {
+                    error.compareAndSet( null, t );
+                }
+            } );
+            lectores.add( lector );
+            lector.start( );
+        }
+        for( int i = 0; i < 200; i++ )
+        {
+            concurrente.reiniciarConjuntoCadenas( i % 2 == 0 ? nuevas : viejas );
+            concurrente.agregarCadena( "extra" );
+            concurrente.eliminarCadena( "extra" );
+            concurrente.eliminarPrimera( );
+        }
+        terminar.set( true );
+        for( Thread lector : lectores )
+        {
+            lector.join( );
+        }
+        assertNull( error.get( ), "Los lectores no deberían fallar mientras otro hilo modifica el conjunto" );
+        assertEquals( 999, concurrente.getCantidadCadenas( ), "La cantidad de cadenas no es correcta" );
+    }
+
+    @Test
+    void testComprimir( )
+    {
+        sencillo.comprimir( );
+        assertTrue( sencillo.estaCongelado( ), "Un conjunto comprimido no se puede modificar" );
+        assertEquals( Arrays.asList( cadenasOrdenadas ), sencillo.getCadenasComoLista( ), "Comprimir no debería cambiar las cadenas" );
+        assertEquals( "B", sencillo.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( "e", sencillo.getUltima( ), "La última cadena no es correcta" );
+        assertEquals( Arrays.asList( "c", "d", "e" ), new ArrayList<String>( sencillo.getSiguientes( "c" ) ), "Las cadenas siguientes no son correctas" );
+        assertTrue( sencillo.compararElementos( new String[]{ "B", "d" } ), "Las cadenas deberían estar en el conjunto" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> sencillo.agregarCadena( "f" ) );
+
+        sencillo.descongelar( );
+        sencillo.agregarCadena( "f" );
+        assertEquals( 6, sencillo.getCantidadCadenas( ), "El conjunto descongelado debería poder modificarse" );
+    }
+
+    @Test
+    void testConjuntoComprimido( )
+    {
+        List<String> urls = new ArrayList<String>( );
+        for( int i = 0; i < 2000; i++ )
+        {
+            urls.add( "https://www.ejemplo.com/productos/categoria/" + ( i % 10 ) + "/articulo/" + i );
+        }
+        ConjuntoComprimido comprimido = new ConjuntoComprimido( urls );
+        TreeSet<String> arbol = new TreeSet<String>( urls );
+        assertEquals( new ArrayList<String>( arbol ), new ArrayList<String>( comprimido ), "Las cadenas no se decodificaron correctamente" );
+        assertEquals( new ArrayList<String>( arbol.descendingSet( ) ), new ArrayList<String>( comprimido.descendingSet( ) ), "El recorrido descendente no es correcto" );
+        String buscada = "https://www.ejemplo.com/productos/categoria/3/articulo/1";
+        assertEquals( arbol.ceiling( buscada ), comprimido.ceiling( buscada ), "La búsqueda no es correcta" );
+        assertEquals( arbol.lower( buscada ), comprimido.lower( buscada ), "La búsqueda no es correcta" );
+        assertEquals( arbol.tailSet( buscada ).size( ), comprimido.tailSet( buscada ).size( ), "El tamaño de la vista no es correcto" );
+        assertTrue( comprimido.getBytesEstimados( ) * 3 < ArbolRadix.estimarBytesTreeSet( urls ), "El conjunto comprimido debería ocupar al menos 3 veces menos memoria que un TreeSet" );
+    }
+
+    @Test
+    void testGuardarYAbrirCadenas( ) throws Exception
+    {
+        Path archivo = Files.createTempFile( "conjunto", ".sbc" );
+        try
+        {
+            List<Object> objetos = new ArrayList<Object>( );
+            for( int i = 0; i < 5000; i++ )
+            {
+                objetos.add( "llave/" + ( i % 7 ) + "/" + i );
+            }
+            sencillo.reiniciarConjuntoCadenas( objetos );
+            sencillo.guardarCadenas( archivo );
+
+            SandboxConjuntos abierto = SandboxConjuntos.abrirCadenas( archivo );
+            assertTrue( abierto.estaCongelado( ), "El conjunto abierto desde un archivo no se puede modificar" );
+            assertEquals( sencillo.getCadenasComoLista( ), abierto.getCadenasComoLista( ), "Las cadenas del archivo no son correctas" );
+            assertEquals( sencillo.getPrimera( ), abierto.getPrimera( ), "La primera cadena no es correcta" );
+            assertEquals( sencillo.getUltima( ), abierto.getUltima( ), "La última cadena no es correcta" );
+            assertEquals( new ArrayList<String>( sencillo.getSiguientes( "llave/6/99" ) ), new ArrayList<String>( abierto.getSiguientes( "llave/6/99" ) ), "Las cadenas siguientes no son correctas" );
+            assertTrue( abierto.compararElementos( new String[]{ "llave/0/0", "llave/1/4999" } ), "Las cadenas deberían estar en el archivo" );
+            assertFalse( abierto.compararElementos( new String[]{ "llave/0/1" } ), "La cadena no debería estar en el archivo" );
+
+            abierto.descongelar( );
+            abierto.agregarCadena( "otra" );
+            assertEquals( 5001, abierto.getCantidadCadenas( ), "El conjunto descongelado debería poder modificarse" );
+
+            vacio.guardarCadenas( archivo );
+            assertEquals( 0, SandboxConjuntos.abrirCadenas( archivo ).getCantidadCadenas( ), "El archivo de un conjunto vacío no debería tener cadenas" );
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+        }
+    }
+
+    @Test
+    void testAbrirArchivoInvalido( ) throws Exception
+    {
+        Path archivo = Files.createTempFile( "conjunto", ".txt" );
+        try
+        {
+            Files.write( archivo, "esto no es un conjunto de cadenas".getBytes( "UTF-8" ) );
+            assertThrows( IOException.class, ( ) -> SandboxConjuntos.abrirCadenas( archivo ) );
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+        }
+    }
+
+    @Test
+    void testVistaInvertida( )
+    {
+        NavigableSet<String> vista = sencillo.getVistaInvertida( );
+        assertEquals( Arrays.asList( "e", "d", "c", "a", "B" ), new ArrayList<String>( vista ), "La vista invertida no es correcta" );
+        assertEquals( "d", vista.higher( "e" ), "La vista debería estar ordenada de mayor a menor" );
+        assertEquals( Arrays.asList( "c", "a" ), new ArrayList<String>( vista.subSet( "c", true, "a", true ) ), "El rango de la vista no es correcto" );
+
+        sencillo.agregarCadena( "f" );
+        assertEquals( "f", vista.first( ), "La vista debería reflejar los cambios del conjunto" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> vista.add( "g" ) );
+        assertThrows( UnsupportedOperationException.class, ( ) -> vista.pollFirst( ) );
+    }
+
+    @Test
+    void testVistaListaInvertida( )
+    {
+        List<String> lista = sencillo.getVistaListaInvertida( );
+        assertEquals( Arrays.asList( "e", "d", "c", "a", "B" ), lista, "La lista invertida no es correcta" );
+        assertEquals( 5, lista.size( ), "El tamaño de la lista no es correcto" );
+        assertEquals( "c", lista.get( 2 ), "El acceso por posición no es correcto" );
+
+        ListIterator<String> iterador = lista.listIterator( 5 );
+        assertEquals( "B", iterador.previous( ), "El recorrido hacia atrás no es correcto" );
+        assertEquals( "a", iterador.previous( ), "El recorrido hacia atrás no es correcto" );
+        assertEquals( "a", iterador.next( ), "El recorrido hacia adelante no es correcto" );
+
+        sencillo.eliminarCadena( "e" );
+        assertEquals( "d", lista.get( 0 ), "La lista debería reflejar los cambios del conjunto" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> lista.add( "z" ) );
+        assertThrows( UnsupportedOperationException.class, ( ) -> lista.remove( 0 ) );
+        assertTrue( vacio.getVistaListaInvertida( ).isEmpty( ), "La lista del conjunto vacío debería estar vacía" );
+    }
+
+    @Test
+    void testBuscarAproximado( )
+    {
+        SandboxConjuntos palabras = new SandboxConjuntos( );
+        palabras.reiniciarConjuntoCadenas( Arrays.asList( "casa", "caso", "cosa", "cama", "casas", "taza", "perro", "cas", "c", "acasa" ) );
+
+        assertEquals( Arrays.asList( "casa" ), palabras.buscarAproximado( "casa", 0 ), "Con distancia 0 sólo debería encontrar la misma cadena" );
+        assertEquals( Arrays.asList( "acasa", "cama", "cas", "casa", "casas", "caso", "cosa" ), palabras.buscarAproximado( "casa", 1 ),
+                "Las cadenas a distancia 1 no son correctas" );
+        assertEquals( Arrays.asList( "acasa", "c", "cama", "cas", "casa", "casas", "caso", "cosa", "taza" ), palabras.buscarAproximado( "casa", 3 ),
+                "Las cadenas a distancia 3 no son correctas" );
+        assertEquals( Arrays.asList( "c", "cas" ), palabras.buscarAproximado( "", 3 ), "Desde la cadena vacía la distancia es la longitud" );
+        assertEquals( 0, vacio.buscarAproximado( "casa", 2 ).size( ), "Un conjunto vacío no tiene cadenas cercanas" );
+        assertThrows( IllegalArgumentException.class, ( ) -> palabras.buscarAproximado( "casa", -1 ) );
+
+        // Una distancia enorme es válida y encuentra todas las cadenas, sin reservar una fila por cada posible carácter
+        List<String> todas = palabras.getCadenasComoLista( );
+        assertEquals( todas, palabras.buscarAproximado( "casa", Integer.MAX_VALUE ), "Con una distancia enorme deberían estar todas las cadenas" );
+        assertEquals( todas, palabras.buscarAproximado( "casa", 100_000_000 ), "Con una distancia enorme deberían estar todas las cadenas" );
+        String larga = String.join( "", Collections.nCopies( 40, "a" ) );
+        SandboxConjuntos conLarga = new SandboxConjuntos( );
+        conLarga.agregarCadena( larga );
+        assertEquals( Arrays.asList( larga ), conLarga.buscarAproximado( "", 1000 ), "Las filas deberían crecer con la cadena" );
+        assertEquals( 0, conLarga.buscarAproximado( "", 39 ).size( ), "La cadena larga está a distancia 40" );
+    }
+
+    @Test
+    void testConPrefijo( )
+    {
+        SandboxConjuntos palabras = new SandboxConjuntos( );
+        palabras.reiniciarConjuntoCadenas( Arrays.asList( "ca", "casa", "casas", "caso", "cb", "c", "cosa", "ca\uffff", "ca\uffffz", "cb\uffff" ) );
+
+        PaginaCadenas pagina = palabras.getConPrefijo( "cas", 2 );
+        assertEquals( Arrays.asList( "casa", "casas" ), new ArrayList<String>( pagina ), "La página con el prefijo no es correcta" );
+        assertTrue( pagina.haySiguiente( ), "Quedan más cadenas con el prefijo" );
+        assertEquals( "caso", pagina.getSiguienteCursor( ), "El cursor debería ser la siguiente cadena con el prefijo" );
+        assertFalse( palabras.getConPrefijo( "cas", 3 ).haySiguiente( ), "No quedan más cadenas con el prefijo" );
+
+        PaginaCadenas siguiente = palabras.getConPrefijo( "cas", pagina.getSiguienteCursor( ), 2 );
+        assertEquals( Arrays.asList( "caso" ), new ArrayList<String>( siguiente ), "La página siguiente con el prefijo no es correcta" );
+        assertFalse( siguiente.haySiguiente( ), "La última página no debería tener cursor" );
+        assertEquals( Arrays.asList( "casa", "casas" ), new ArrayList<String>( palabras.getConPrefijo( "cas", "a", 2 ) ),
+                "Un cursor antes del prefijo debería empezar en la primera cadena con el prefijo" );
+        assertEquals( 0, palabras.getConPrefijo( "cas", "cb", 2 ).size( ), "Un cursor después del prefijo no debería tener cadenas" );
+        assertEquals( Arrays.asList( "ca\uffffz" ), new ArrayList<String>( palabras.getConPrefijo( "ca\uffff", "ca\uffffa", 2 ) ),
+                "El cursor con un prefijo que termina en el mayor carácter no es correcto" );
+        assertEquals( Arrays.asList( "ca\uffff", "ca\uffffz" ), new ArrayList<String>( palabras.getConPrefijo( "ca\uffff", 10 ) ),
+                "Un prefijo que termina en el mayor carácter no es correcto" );
+        assertEquals( 0, palabras.getConPrefijo( "z", 10 ).size( ), "No hay cadenas con el prefijo" );
+
+        assertEquals( 6, palabras.contarConPrefijo( "ca" ), "La cantidad de cadenas con el prefijo no es correcta" );
+        assertEquals( 2, palabras.contarConPrefijo( "cb" ), "La cantidad de cadenas con el prefijo no es correcta" );
+        assertEquals( 10, palabras.contarConPrefijo( "" ), "Todas las cadenas empiezan con el prefijo vacío" );
+        assertEquals( 0, vacio.contarConPrefijo( "a" ), "Un conjunto vacío no tiene cadenas con el prefijo" );
+
+        SandboxConjuntos estadistico = new SandboxConjuntos( new ArbolEstadistico( ) );
+        estadistico.reiniciarConjuntoCadenas( Arrays.asList( "ca", "casa", "caso", "cb" ) );
+        assertEquals( 3, estadistico.contarConPrefijo( "ca" ), "La cantidad con un árbol estadístico no es correcta" );
+        palabras.comprimir( );
+        assertEquals( 6, palabras.contarConPrefijo( "ca" ), "La cantidad con el conjunto comprimido no es correcta" );
+    }
+
 }
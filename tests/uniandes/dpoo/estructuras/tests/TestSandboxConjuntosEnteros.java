@@ -0,0 +1,138 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.ArbolRadix;
+import uniandes.dpoo.estructuras.logica.SandboxConjuntosEnteros;
+
+class TestSandboxConjuntosEnteros
+{
+    private SandboxConjuntosEnteros vacio;
+
+    private SandboxConjuntosEnteros sencillo;
+
+    private final int[] enterosSencillo = new int[]{ 70000, -5, 3, 1, 3, 65535, 65536 };
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        vacio = new SandboxConjuntosEnteros( );
+        sencillo = new SandboxConjuntosEnteros( );
+        sencillo.reiniciarConjuntoEnteros( enterosSencillo );
+    }
+
+    @AfterEach
+    void reset( )
+    {
+        vacio = null;
+        sencillo = null;
+    }
+
+    @Test
+    void testNavegacion( )
+    {
+        assertNull( vacio.getPrimero( ), "El primer entero de un conjunto vacío debería ser null" );
+        assertNull( vacio.getUltimo( ), "El último entero de un conjunto vacío debería ser null" );
+        assertEquals( 0, vacio.getSiguientes( 0 ).size( ), "Un conjunto vacío no tiene enteros siguientes" );
+
+        assertEquals( Arrays.asList( -5, 1, 3, 65535, 65536, 70000 ), sencillo.getEnterosComoLista( ), "Los enteros no están en orden" );
+        assertEquals( 6, sencillo.getCantidadEnteros( ), "Los enteros repetidos no se eliminaron" );
+        assertEquals( -5, sencillo.getPrimero( ), "El primer entero no es el correcto" );
+        assertEquals( 70000, sencillo.getUltimo( ), "El último entero no es el correcto" );
+        assertEquals( Arrays.asList( 3, 65535, 65536, 70000 ), new ArrayList<>( sencillo.getSiguientes( 2 ) ), "Los siguientes no son correctos" );
+        assertEquals( Arrays.asList( 65536, 70000 ), new ArrayList<>( sencillo.getSiguientes( 65536 ) ), "El entero dado debería estar en los siguientes" );
+        assertEquals( 0, sencillo.getSiguientes( 70001 ).size( ), "No debería haber enteros siguientes" );
+
+        sencillo.eliminarPrimero( );
+        sencillo.eliminarEntero( 65535 );
+        sencillo.eliminarEntero( 4 );
+        assertEquals( Arrays.asList( 1, 3, 65536, 70000 ), sencillo.getEnterosComoLista( ), "Los enteros no se eliminaron correctamente" );
+
+        vacio.eliminarPrimero( );
+        assertEquals( 0, vacio.getCantidadEnteros( ), "Eliminar el primero de un conjunto vacío no debería fallar" );
+    }
+
+    @Test
+    void testCompararElementos( )
+    {
+        assertTrue( sencillo.compararElementos( new int[]{ 65536, -5, 3 } ), "Todos los enteros están en el conjunto" );
+        assertFalse( sencillo.compararElementos( new int[]{ 1, 2 } ), "El 2 no está en el conjunto" );
+        assertTrue( vacio.compararElementos( new int[0] ), "Un arreglo vacío siempre está contenido" );
+    }
+
+    @Test
+    void testUnionInterseccion( )
+    {
+        // Suficientes valores para que haya grupos con mapas de bits y con arreglos
+        Random aleatorio = new Random( 47 );
+        TreeSet<Integer> a = new TreeSet<>( );
+        TreeSet<Integer> b = new TreeSet<>( );
+        SandboxConjuntosEnteros sandboxA = new SandboxConjuntosEnteros( );
+        SandboxConjuntosEnteros sandboxB = new SandboxConjuntosEnteros( );
+        for( int i = 0; i < 30000; i++ )
+        {
+            int x = aleatorio.nextInt( 200000 ) - 50000;
+            int y = i < 10000 ? aleatorio.nextInt( 60000 ) : aleatorio.nextInt( );
+            a.add( x );
+            sandboxA.agregarEntero( x );
+            b.add( y );
+            sandboxB.agregarEntero( y );
+        }
+
+        SandboxConjuntosEnteros union = new SandboxConjuntosEnteros( );
+        union.unir( sandboxA );
+        union.unir( sandboxB );
+        TreeSet<Integer> esperada = new TreeSet<>( a );
+        esperada.addAll( b );
+        assertEquals( new ArrayList<>( esperada ), union.getEnterosComoLista( ), "La unión no es correcta" );
+
+        sandboxA.intersecar( sandboxB );
+        a.retainAll( b );
+        assertEquals( new ArrayList<>( a ), sandboxA.getEnterosComoLista( ), "La intersección no es correcta" );
+        assertEquals( a.size( ), sandboxA.getCantidadEnteros( ), "La cantidad de la intersección no es correcta" );
+        assertEquals( b.size( ), sandboxB.getCantidadEnteros( ), "El otro sandbox no debería cambiar" );
+    }
+
+    @Test
+    void testMemoria( )
+    {
+        int[] identificadores = new int[100000];
+        List<String> cadenas = new ArrayList<>( );
+        for( int i = 0; i < identificadores.length; i++ )
+        {
+            identificadores[ i ] = 1000000 + 3 * i;
+            cadenas.add( Integer.toString( identificadores[ i ] ) );
+        }
+        SandboxConjuntosEnteros sandbox = new SandboxConjuntosEnteros( );
+        sandbox.reiniciarConjuntoEnteros( identificadores );
+
+        long bytes = sandbox.getBytesEstimados( );
+        assertTrue( bytes * 20 < ArbolRadix.estimarBytesTreeSet( cadenas ), "El conjunto debería ocupar mucho menos que un TreeSet: " + bytes );
+
+        // Los enteros consecutivos caben en unas pocas rachas
+        SandboxConjuntosEnteros consecutivos = new SandboxConjuntosEnteros( );
+        for( int i = 0; i < 200000; i++ )
+        {
+            consecutivos.agregarEntero( i );
+        }
+        consecutivos.optimizar( );
+        assertTrue( consecutivos.getBytesEstimados( ) < 1000, "Los enteros consecutivos deberían ocupar muy poco: " + consecutivos.getBytesEstimados( ) );
+        assertEquals( 199999, consecutivos.getUltimo( ), "Optimizar no debería cambiar los enteros" );
+        consecutivos.eliminarEntero( 100 );
+        assertEquals( 199999, consecutivos.getCantidadEnteros( ), "Se debería poder eliminar después de optimizar" );
+        assertEquals( 101, consecutivos.getSiguientes( 100 ).iterator( ).next( ), "El entero eliminado no debería estar" );
+    }
+}
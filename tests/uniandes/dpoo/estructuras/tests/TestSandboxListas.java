@@ -3,16 +3,27 @@ package uniandes.dpoo.estructuras.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.DoubleStream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uniandes.dpoo.estructuras.logica.IngestorListas;
+import uniandes.dpoo.estructuras.logica.ListaPersistente;
 import uniandes.dpoo.estructuras.logica.SandboxListas;
 
 class TestSandboxListas
@@ -659,4 +670,404 @@ class TestSandboxListas
             fail( "Los valores no están bien distribuidos" );
     }
 
+    @Test
+    void testModoVentanaAgregarEntero( )
+    {
+        SandboxListas ventana = new SandboxListas( 5 );
+        for( int i = 0; i < enterosSencillos.length; i++ )
+        {
+            ventana.agregarEntero( enterosSencillos[ i ] );
+        }
+
+        assertEquals( 5, ventana.getCantidadEnteros( ), "La ventana no debería crecer más allá de su capacidad" );
+        int[] esperados = Arrays.copyOfRange( enterosSencillos, enterosSencillos.length - 5, enterosSencillos.length );
+        assertTrue( ventana.compararArregloEnteros( esperados ), "La ventana no contiene los últimos valores agregados" );
+        assertEquals( 2, ventana.contarApariciones( 6 ) + ventana.contarApariciones( 7 ), "Las consultas no operan sobre la ventana" );
+        assertEquals( 0, ventana.contarEnterosRepetidos( ), "Las consultas no operan sobre la ventana" );
+    }
+
+    @Test
+    void testModoVentanaAgregarCadena( )
+    {
+        SandboxListas ventana = new SandboxListas( 3 );
+        for( int i = 0; i < cadenasSencillas.length; i++ )
+        {
+            ventana.agregarCadena( cadenasSencillas[ i ] );
+        }
+
+        assertEquals( 3, ventana.getCantidadCadenas( ), "La ventana no debería crecer más allá de su capacidad" );
+        assertEquals( Arrays.asList( "c", "b", "a" ), ventana.getCopiaCadenas( ), "La ventana no contiene las últimas cadenas agregadas" );
+        assertEquals( 1, ventana.contarApariciones( "A" ), "Las consultas no operan sobre la ventana" );
+    }
+
+    @Test
+    void testModoVentanaInsertarYEliminar( )
+    {
+        SandboxListas ventana = new SandboxListas( 3 );
+        ventana.agregarEntero( 1 );
+        ventana.agregarEntero( 2 );
+        ventana.agregarEntero( 3 );
+
+        ventana.insertarEntero( 9, 2 );
+        assertTrue( ventana.compararArregloEnteros( new int[]{ 2, 9, 3 } ), "No se insertó correctamente en la ventana llena" );
+
+        ventana.eliminarEnteroPorPosicion( 1 );
+        ventana.agregarEntero( 4 );
+        assertTrue( ventana.compararArregloEnteros( new int[]{ 2, 3, 4 } ), "No se eliminó correctamente de la ventana" );
+
+        ventana.eliminarEntero( 3 );
+        assertTrue( ventana.compararArregloEnteros( new int[]{ 2, 4 } ), "No se eliminaron correctamente los valores de la ventana" );
+    }
+
+    @Test
+    void testListasPersistentes( )
+    {
+        SandboxListas persistente = new SandboxListas( new ListaPersistente<Integer>( ), new ListaPersistente<String>( ) );
+        for( int i = 0; i < 2000; i++ )
+        {
+            persistente.agregarEntero( i );
+        }
+        persistente.agregarCadena( "a" );
+
+        List<Integer> version1 = persistente.getCopiaEnteros( );
+        List<String> cadenas1 = persistente.getCopiaCadenas( );
+
+        persistente.insertarEntero( -1, 1000 );
+        persistente.eliminarEnteroPorPosicion( 0 );
+        persistente.volverPositivos( );
+        persistente.agregarCadena( "b" );
+
+        assertEquals( 2000, version1.size( ), "La copia no debería verse afectada por los cambios posteriores" );
+        for( int i = 0; i < 2000; i++ )
+        {
+            assertEquals( i, version1.get( i ), "La copia no debería verse afectada por los cambios posteriores" );
+        }
+        assertEquals( Arrays.asList( "a" ), cadenas1, "La copia no debería verse afectada por los cambios posteriores" );
+
+        List<Integer> version2 = persistente.getCopiaEnteros( );
+        assertEquals( 2000, version2.size( ), "La cantidad de enteros no es correcta" );
+        assertEquals( 1, version2.get( 0 ), "No se eliminó correctamente el primer entero" );
+        assertEquals( 1, version2.get( 999 ), "No se insertó correctamente el entero" );
+        assertEquals( 1999, version2.get( 1999 ), "No se conservó el último entero" );
+
+        version2.set( 0, 42 );
+        assertEquals( 1, persistente.getCopiaEnteros( ).get( 0 ), "Modificar la copia no debería modificar la lista original" );
+    }
+
+    @Test
+    void testConsultasParalelas( )
+    {
+        SandboxListas grande = new SandboxListas( new ArrayList<Integer>( ), new LinkedList<String>( ) );
+        int cantidad = SandboxListas.UMBRAL_PARALELO * 4;
+        int menosDos = 0;
+        for( int i = 0; i < cantidad; i++ )
+        {
+            if( i % 1000 == 2 )
+                menosDos++;
+            grande.agregarEntero( i % 2 == 0 ? -( i % 1000 ) : i );
+            grande.agregarCadena( i % 3 == 0 ? "Hola" : "chao" + i );
+        }
+
+        assertEquals( cantidad, grande.spliteratorEnteros( ).estimateSize( ), "El tamaño del spliterator no es correcto" );
+        assertEquals( menosDos, grande.contarApariciones( -2 ), "No se contaron correctamente las apariciones en paralelo" );
+        assertEquals( ( cantidad + 2 ) / 3, grande.contarApariciones( "HOLA" ), "No se contaron correctamente las apariciones en paralelo" );
+        assertEquals( 500, grande.contarEnterosRepetidos( ), "No se contaron correctamente los repetidos en paralelo" );
+
+        grande.volverPositivos( );
+        assertEquals( 0, grande.contarApariciones( -2 ), "No se volvieron positivos los valores en paralelo" );
+        assertEquals( menosDos, grande.contarApariciones( 2 ), "No se volvieron positivos los valores en paralelo" );
+    }
+
+    @Test
+    void testReiniciarDesdeFuentesEnStream( )
+    {
+        sencillo.reiniciarArregloEnteros( DoubleStream.of( 3.67, -2.5, 0.1 ) );
+        assertTrue( sencillo.compararArregloEnteros( new int[]{ 3, -2, 0 } ), "No se reinició correctamente la lista de enteros desde el stream" );
+
+        sencillo.reiniciarArregloCadenas( Arrays.asList( 1, "dos", 3.0 ).iterator( ) );
+        assertEquals( Arrays.asList( "1", "dos", "3.0" ), sencillo.getCopiaCadenas( ), "No se reinició correctamente la lista de cadenas desde el iterador" );
+    }
+
+    @Test
+    void testReiniciarGrande( )
+    {
+        // Varios bloques de conversión, el último incompleto
+        int cantidad = SandboxListas.UMBRAL_PARALELO * 2 + 7;
+        double[] valores = new double[cantidad];
+        List<Object> objetos = new ArrayList<Object>( );
+        for( int i = 0; i < cantidad; i++ )
+        {
+            valores[ i ] = i + 0.5;
+            objetos.add( i );
+        }
+
+        sencillo.reiniciarArregloEnteros( valores );
+        sencillo.reiniciarArregloCadenas( objetos );
+
+        assertEquals( cantidad, sencillo.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+        assertEquals( cantidad, sencillo.getCantidadCadenas( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( cantidad - 1, sencillo.getCopiaEnteros( ).get( cantidad - 1 ), "Los valores no quedaron en el orden correcto" );
+        assertEquals( String.valueOf( cantidad - 1 ), sencillo.getCopiaCadenas( ).get( cantidad - 1 ), "Las cadenas no quedaron en el orden correcto" );
+        List<Integer> enteros = sencillo.getCopiaEnteros( );
+        List<String> cadenas = sencillo.getCopiaCadenas( );
+        for( int i = 0; i < cantidad; i++ )
+        {
+            assertEquals( i, enteros.get( i ), "Un entero no quedó en su posición" );
+            assertEquals( String.valueOf( i ), cadenas.get( i ), "Una cadena no quedó en su posición" );
+        }
+    }
+
+    @Test
+    void testConteoIncremental( )
+    {
+        assertEquals( 3, sencillo.contarApariciones( 6 ), "El conteo inicial no es correcto" );
+
+        sencillo.eliminarEntero( 6 );
+        assertEquals( 0, sencillo.contarApariciones( 6 ), "El conteo no se actualizó al eliminar" );
+        assertEquals( 3, sencillo.contarEnterosRepetidos( ), "Los repetidos no se actualizaron al eliminar" );
+
+        sencillo.insertarEntero( 6, 3 );
+        sencillo.agregarEntero( 6 );
+        assertEquals( 4, sencillo.contarEnterosRepetidos( ), "Los repetidos no se actualizaron al agregar" );
+
+        sencillo.eliminarEnteroPorPosicion( 0 );
+        assertEquals( 3, sencillo.contarEnterosRepetidos( ), "Los repetidos no se actualizaron al eliminar por posición" );
+
+        sencillo.volverPositivos( );
+        assertEquals( 2, sencillo.contarApariciones( 2 ), "El conteo no se actualizó al volver positivos los valores" );
+        assertEquals( 0, sencillo.contarApariciones( -2 ), "El conteo no se actualizó al volver positivos los valores" );
+        assertEquals( 7, sencillo.contarEnterosRepetidos( ), "Los repetidos no se actualizaron al volver positivos los valores" );
+
+        sencillo.reiniciarArregloEnteros( new double[]{ 1, 1, 2 } );
+        assertEquals( 1, sencillo.contarEnterosRepetidos( ), "Los repetidos no se actualizaron al reiniciar la lista" );
+    }
+
+    @Test
+    void testConteoIncrementalModoVentana( )
+    {
+        SandboxListas ventana = new SandboxListas( 3 );
+        ventana.agregarEntero( 1 );
+        ventana.agregarEntero( 1 );
+        ventana.agregarEntero( 2 );
+        assertEquals( 1, ventana.contarEnterosRepetidos( ), "El conteo inicial no es correcto" );
+
+        ventana.agregarEntero( 3 );
+        assertEquals( 0, ventana.contarEnterosRepetidos( ), "El conteo no se actualizó al descartar el valor más antiguo" );
+        assertEquals( 1, ventana.contarApariciones( 1 ), "El conteo no se actualizó al descartar el valor más antiguo" );
+
+        ventana.insertarEntero( 3, 1 );
+        assertEquals( 0, ventana.contarApariciones( 1 ), "El conteo no se actualizó al insertar en la ventana llena" );
+        assertEquals( 2, ventana.contarApariciones( 3 ), "El conteo no se actualizó al insertar en la ventana llena" );
+    }
+
+    @Test
+    void testGetMayores( )
+    {
+        List<Integer> antes = sencillo.getCopiaEnteros( );
+        int[] mayores = sencillo.getMayores( 4 );
+        assertTrue( Arrays.equals( new int[]{ 9, 9, 8, 8 }, mayores ), "Los mayores no son los esperados: " + Arrays.toString( mayores ) );
+        assertEquals( antes, sencillo.getCopiaEnteros( ), "Obtener los mayores no debería modificar la lista" );
+
+        assertEquals( 0, vacio.getMayores( 3 ).length, "En una lista vacía no debería haber mayores" );
+        assertEquals( enterosSencillos.length, sencillo.getMayores( 100 ).length, "Si k es mayor que la lista deberían retornarse todos los valores" );
+
+        int[] todos = sencillo.getMayores( Integer.MAX_VALUE );
+        int[] esperados = new int[]{ 9, 9, 8, 8, 7, 7, 6, 6, 6, 5, 4, 3, 2, 1, 0, -2, -3, -4, -5 };
+        assertTrue( Arrays.equals( esperados, todos ), "Con k enorme deberían retornarse todos los valores ordenados: " + Arrays.toString( todos ) );
+        assertThrows( IllegalArgumentException.class, ( ) -> sencillo.getMayores( -1 ) );
+    }
+
+    @Test
+    void testSeguirMayores( )
+    {
+        sencillo.seguirMayores( 3 );
+        assertTrue( Arrays.equals( new int[]{ 9, 9, 8 }, sencillo.getMayores( 3 ) ), "Los mayores seguidos no son los esperados" );
+
+        sencillo.agregarEntero( 20 );
+        sencillo.agregarEntero( 1 );
+        assertTrue( Arrays.equals( new int[]{ 20, 9, 9 }, sencillo.getMayores( 3 ) ), "Los mayores no se actualizaron al agregar" );
+        assertTrue( Arrays.equals( new int[]{ 20, 9 }, sencillo.getMayores( 2 ) ), "Los mayores no se recortaron correctamente" );
+
+        // Los mayores ordenados se reutilizan entre consultas, pero cada consulta recibe su propia copia
+        sencillo.getMayores( 3 )[ 0 ] = -1;
+        assertTrue( Arrays.equals( new int[]{ 20, 9, 9 }, sencillo.getMayores( 3 ) ), "Modificar un resultado no debería afectar los mayores seguidos" );
+        sencillo.agregarEntero( 15 );
+        assertTrue( Arrays.equals( new int[]{ 20, 15, 9 }, sencillo.getMayores( 3 ) ), "Los mayores ordenados no se actualizaron al agregar" );
+        sencillo.eliminarEntero( 15 );
+
+        sencillo.eliminarEntero( 9 );
+        assertTrue( Arrays.equals( new int[]{ 20, 8, 8 }, sencillo.getMayores( 3 ) ), "Los mayores no se actualizaron al eliminar" );
+
+        sencillo.volverPositivos( );
+        assertTrue( Arrays.equals( new int[]{ 20, 8, 8, 7, 7 }, sencillo.getMayores( 5 ) ), "Los mayores no son los esperados con un k mayor al seguido" );
+
+        sencillo.seguirMayores( Integer.MAX_VALUE );
+        assertEquals( sencillo.getCantidadEnteros( ), sencillo.getMayores( Integer.MAX_VALUE ).length, "Con k enorme deberían seguirse todos los valores" );
+        assertThrows( IllegalArgumentException.class, ( ) -> sencillo.seguirMayores( -1 ) );
+    }
+
+    @Test
+    void testIngestorVariosProductores( ) throws Exception
+    {
+        IngestorListas ingestor = new IngestorListas( vacio, 64, 16 );
+        int productores = 4;
+        int porProductor = 5000;
+        Thread[] hilos = new Thread[productores];
+        for( int p = 0; p < productores; p++ )
+        {
+            final int valor = p;
+            hilos[ p ] = new Thread( ( ) -> {
+                try
+                {
+                    for( int i = 0; i < porProductor; i++ )
+                    {
+                        ingestor.publicarEntero( valor );
+                        if( i % 10 == 0 )
+                            ingestor.publicarCadena( "p" + valor );
+                    }
+                }
+                catch( InterruptedException e )
+                {
+                    Thread.currentThread( ).interrupt( );
+                }
+            } );
+            hilos[ p ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+        ingestor.cerrar( );
+
+        assertEquals( productores * porProductor, vacio.getCantidadEnteros( ), "No se aplicaron todos los enteros publicados" );
+        assertEquals( productores * porProductor / 10, vacio.getCantidadCadenas( ), "No se aplicaron todas las cadenas publicadas" );
+        for( int p = 0; p < productores; p++ )
+        {
+            assertEquals( porProductor, vacio.contarApariciones( p ), "No se aplicaron todos los valores de un productor" );
+        }
+        assertEquals( productores * porProductor * 11 / 10, ingestor.getValoresAplicados( ), "La métrica de valores aplicados no es correcta" );
+        assertTrue( ingestor.getTamanioPromedioLote( ) >= 1 && ingestor.getTamanioPromedioLote( ) <= 16, "El tamaño promedio de los lotes no es válido" );
+        assertTrue( ingestor.getProfundidadMaxima( ) <= 64, "La cola no debería superar su capacidad" );
+        assertEquals( 0, ingestor.getProfundidadCola( ), "La cola debería quedar vacía al cerrar" );
+    }
+
+    @Test
+    void testIngestorCerrado( ) throws Exception
+    {
+        IngestorListas ingestor = new IngestorListas( vacio, 4, 4 );
+        ingestor.publicarEntero( 1 );
+        ingestor.cerrar( );
+        assertEquals( 1, vacio.getCantidadEnteros( ), "No se aplicó el valor publicado antes del cierre" );
+        try
+        {
+            ingestor.ofrecerEntero( 2 );
+            fail( "No debería poderse publicar en un ingestor cerrado" );
+        }
+        catch( IllegalStateException e )
+        {
+            // Es el comportamiento esperado
+        }
+    }
+
+    @Test
+    void testIngestorFallaConProductorEsperando( ) throws Exception
+    {
+        // La lista de enteros no se puede modificar, así que el escritor falla al aplicar el primer entero
+        SandboxListas destino = new SandboxListas( Collections.unmodifiableList( new ArrayList<Integer>( ) ), new ArrayList<String>( ) );
+        IngestorListas ingestor = new IngestorListas( destino, 1, 1 );
+        AtomicReference<Exception> recibida = new AtomicReference<Exception>( );
+        Thread productor = new Thread( ( ) -> {
+            try
+            {
+                ingestor.publicarEntero( 3 );
+            }
+            catch( Exception e )
+            {
+                recibida.set( e );
+            }
+        } );
+
+        synchronized( destino )
+        {
+            // Mientras el hilo de la prueba tiene el monitor del sandbox, el escritor no puede aplicar: toma el 1 y la cola se llena con el 2
+            ingestor.publicarEntero( 1 );
+            while( ingestor.getProfundidadCola( ) > 0 )
+            {
+                Thread.sleep( 1 );
+            }
+            ingestor.publicarEntero( 2 );
+            productor.start( );
+            while( productor.getState( ) != Thread.State.TIMED_WAITING && productor.getState( ) != Thread.State.WAITING )
+            {
+                Thread.sleep( 1 );
+            }
+        }
+
+        productor.join( 5000 );
+        assertFalse( productor.isAlive( ), "El productor que esperaba espacio no debería quedarse bloqueado cuando el escritor falla" );
+        assertTrue( recibida.get( ) instanceof IllegalStateException, "El productor debería recibir una IllegalStateException" );
+        assertTrue( ingestor.getError( ) instanceof UnsupportedOperationException, "El ingestor debería reportar el error del escritor" );
+        assertEquals( 0, ingestor.getProfundidadCola( ), "La cola debería quedar vacía después del error" );
+        assertThrows( IllegalStateException.class, ( ) -> ingestor.publicarEntero( 4 ) );
+        ingestor.cerrar( );
+    }
+
+    @Test
+    void testVistas( )
+    {
+        List<Integer> vistaEnteros = sencillo.getVistaEnteros( );
+        List<String> vistaCadenas = sencillo.getVistaCadenas( );
+        assertEquals( sencillo.getCopiaEnteros( ), vistaEnteros, "La vista no tiene los mismos enteros" );
+        assertEquals( sencillo.getCopiaCadenas( ), vistaCadenas, "La vista no tiene las mismas cadenas" );
+
+        sencillo.agregarEntero( 100 );
+        sencillo.agregarCadena( "z" );
+        assertEquals( 100, vistaEnteros.get( vistaEnteros.size( ) - 1 ), "La vista no refleja los cambios de la lista" );
+        assertEquals( "z", vistaCadenas.get( vistaCadenas.size( ) - 1 ), "La vista no refleja los cambios de la lista" );
+
+        assertThrows( UnsupportedOperationException.class, ( ) -> vistaEnteros.add( 1 ), "La vista no debería poderse modificar" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> vistaCadenas.remove( 0 ), "La vista no debería poderse modificar" );
+    }
+
+    @Test
+    void testIteradorEnteros( )
+    {
+        PrimitiveIterator.OfInt iterador = sencillo.iteradorEnteros( );
+        for( int i = 0; i < enterosSencillos.length; i++ )
+        {
+            assertTrue( iterador.hasNext( ), "El iterador terminó antes de tiempo" );
+            assertEquals( enterosSencillos[ i ], iterador.nextInt( ), "El iterador no retornó los valores en orden" );
+        }
+        assertFalse( iterador.hasNext( ), "El iterador debería haber terminado" );
+
+        PrimitiveIterator.OfInt otro = sencillo.iteradorEnteros( );
+        otro.nextInt( );
+        sencillo.agregarEntero( 1 );
+        assertThrows( ConcurrentModificationException.class, otro::nextInt, "El iterador debería fallar si la lista se modifica" );
+
+        Iterator<String> cadenas = sencillo.getVistaCadenas( ).iterator( );
+        cadenas.next( );
+        sencillo.eliminarCadena( "a" );
+        assertThrows( ConcurrentModificationException.class, cadenas::next, "El iterador de la vista debería fallar si la lista se modifica" );
+    }
+
+    @Test
+    void testConteoCadenasIncremental( )
+    {
+        assertEquals( 2, sencillo.contarApariciones( "A" ), "El conteo inicial no es correcto" );
+
+        sencillo.agregarCadena( "Á" );
+        sencillo.agregarCadena( "á" );
+        sencillo.agregarCadena( "B" );
+        assertEquals( 2, sencillo.contarApariciones( "á" ), "El conteo no se actualizó al agregar" );
+        assertEquals( 3, sencillo.contarApariciones( "b" ), "El conteo no se actualizó al agregar" );
+
+        sencillo.eliminarCadena( "b" );
+        assertEquals( 1, sencillo.contarApariciones( "B" ), "El conteo no se actualizó al eliminar" );
+
+        sencillo.reiniciarArregloCadenas( Arrays.asList( ( Object )"x", "X", "y" ) );
+        assertEquals( 2, sencillo.contarApariciones( "x" ), "El conteo no se actualizó al reiniciar" );
+        assertEquals( 0, sencillo.contarApariciones( "a" ), "El conteo no se actualizó al reiniciar" );
+    }
+
 }
@@ -0,0 +1,194 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.SandboxListas;
+import uniandes.dpoo.estructuras.logica.SandboxListasConcurrente;
+
+class TestSandboxListasConcurrente
+{
+    private static final int ESCRITORES = 4;
+
+    private static final int VALORES_POR_ESCRITOR = 20000;
+
+    private SandboxListasConcurrente concurrente;
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        concurrente = new SandboxListasConcurrente( 4 );
+    }
+
+    @AfterEach
+    void reset( )
+    {
+        concurrente = null;
+    }
+
+    @Test
+    void testAgregarSecuencial( )
+    {
+        concurrente.agregarEntero( 3 );
+        concurrente.agregarEntero( 3 );
+        concurrente.agregarEntero( 5 );
+        concurrente.agregarCadena( "Hola" );
+
+        assertEquals( 3, concurrente.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+        assertEquals( 1, concurrente.getCantidadCadenas( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( 2, concurrente.contarApariciones( 3 ), "El conteo de un entero no es correcto" );
+        assertEquals( 1, concurrente.contarApariciones( "HOLA" ), "El conteo de una cadena no es correcto" );
+
+        List<Integer> copia = concurrente.getCopiaEnteros( );
+        assertEquals( 3, copia.size( ), "La copia no tiene todos los enteros" );
+
+        SandboxListas sandbox = concurrente.aSandboxListas( );
+        assertEquals( 1, sandbox.contarEnterosRepetidos( ), "El sandbox construido no tiene los mismos enteros" );
+    }
+
+    @Test
+    void testEscrituraConcurrente( ) throws Exception
+    {
+        CountDownLatch inicio = new CountDownLatch( 1 );
+        List<Thread> escritores = new ArrayList<Thread>( );
+        for( int e = 0; e < ESCRITORES; e++ )
+        {
+            final int valor = e;
+            Thread escritor = new Thread( ( ) -> {
+                try
+                {
+                    inicio.await( );
+                }
+                catch( InterruptedException ex )
+                {
+                    return;
+                }
+                for( int i = 0; i < VALORES_POR_ESCRITOR; i++ )
+                {
+                    concurrente.agregarEntero( valor );
+                    concurrente.agregarCadena( "c" + valor );
+                }
+            } );
+            escritores.add( escritor );
+            escritor.start( );
+        }
+
+        // Mientras se escribe, las lecturas nunca deben ver que un conteo disminuye ni que supera el total
+        AtomicBoolean terminado = new AtomicBoolean( false );
+        AtomicReference<String> problema = new AtomicReference<String>( );
+        Thread lector = new Thread( ( ) -> {
+            int cantidadAnterior = 0;
+            while( !terminado.get( ) )
+            {
+                int cantidad = concurrente.getCantidadEnteros( );
+                if( cantidad < cantidadAnterior || cantidad > ESCRITORES * VALORES_POR_ESCRITOR )
+                    problema.set( "Se leyó una cantidad inválida: " + cantidad + " después de " + cantidadAnterior );
+                cantidadAnterior = cantidad;
+                int ceros = concurrente.contarApariciones( 0 );
+                if( ceros > VALORES_POR_ESCRITOR )
+                    problema.set( "Se leyó un conteo inválido: " + ceros );
+            }
+        } );
+        lector.start( );
+
+        inicio.countDown( );
+        for( Thread escritor : escritores )
+        {
+            escritor.join( );
+        }
+        terminado.set( true );
+        lector.join( );
+
+        assertNull( problema.get( ), "Una lectura concurrente no fue consistente" );
+        assertEquals( ESCRITORES * VALORES_POR_ESCRITOR, concurrente.getCantidadEnteros( ), "Se perdieron enteros" );
+        assertEquals( ESCRITORES * VALORES_POR_ESCRITOR, concurrente.getCantidadCadenas( ), "Se perdieron cadenas" );
+        for( int e = 0; e < ESCRITORES; e++ )
+        {
+            assertEquals( VALORES_POR_ESCRITOR, concurrente.contarApariciones( e ), "El conteo de un entero no es correcto" );
+            assertEquals( VALORES_POR_ESCRITOR, concurrente.contarApariciones( "C" + e ), "El conteo de una cadena no es correcto" );
+        }
+        assertEquals( ESCRITORES * VALORES_POR_ESCRITOR, concurrente.getCopiaEnteros( ).size( ), "La copia no tiene todos los enteros" );
+    }
+
+    @Test
+    void testConteosLinealizables( ) throws Exception
+    {
+        // Los escritores agregan por rondas y se detienen en la barrera al terminar cada una, así que durante la ronda r cualquier conteo debe estar
+        // entre el total que había al empezarla y el que habrá al terminarla
+        final int rondas = 20;
+        final int porRonda = 1000;
+        CyclicBarrier barrera = new CyclicBarrier( ESCRITORES + 1 );
+        List<Thread> escritores = new ArrayList<Thread>( );
+        for( int e = 0; e < ESCRITORES; e++ )
+        {
+            final int valor = e;
+            Thread escritor = new Thread( ( ) -> {
+                try
+                {
+                    for( int r = 0; r < rondas; r++ )
+                    {
+                        barrera.await( 10, TimeUnit.SECONDS );
+                        for( int i = 0; i < porRonda; i++ )
+                        {
+                            concurrente.agregarEntero( valor );
+                            concurrente.agregarCadena( "c" + valor );
+                        }
+                        barrera.await( 10, TimeUnit.SECONDS );
+                    }
+                }
+                catch( Exception ex )
+                {
+                    return;
+                }
+            } );
+            escritor.setDaemon( true );
+            escritores.add( escritor );
+            escritor.start( );
+        }
+
+        String problema = null;
+        for( int r = 0; r < rondas && problema == null; r++ )
+        {
+            int antes = r * porRonda;
+            int despues = antes + porRonda;
+            if( concurrente.getCantidadEnteros( ) != antes * ESCRITORES )
+                problema = "Con los escritores detenidos, la cantidad debería ser exacta en la ronda " + r;
+            barrera.await( 10, TimeUnit.SECONDS );
+            do
+            {
+                int enteros = concurrente.getCantidadEnteros( );
+                int cadenas = concurrente.getCantidadCadenas( );
+                int ceros = concurrente.contarApariciones( 0 );
+                int unos = concurrente.contarApariciones( "C1" );
+                if( enteros < antes * ESCRITORES || enteros > despues * ESCRITORES )
+                    problema = "La cantidad de enteros " + enteros + " no está entre " + antes * ESCRITORES + " y " + despues * ESCRITORES;
+                else if( cadenas < antes * ESCRITORES || cadenas > despues * ESCRITORES )
+                    problema = "La cantidad de cadenas " + cadenas + " no está entre " + antes * ESCRITORES + " y " + despues * ESCRITORES;
+                else if( ceros < antes || ceros > despues )
+                    problema = "El conteo del entero " + ceros + " no está entre " + antes + " y " + despues;
+                else if( unos < antes || unos > despues )
+                    problema = "El conteo de la cadena " + unos + " no está entre " + antes + " y " + despues;
+            } while( barrera.getNumberWaiting( ) < ESCRITORES );
+            barrera.await( 10, TimeUnit.SECONDS );
+        }
+        for( Thread escritor : escritores )
+        {
+            escritor.join( 10000 );
+        }
+
+        assertNull( problema, "Un conteo concurrente no correspondió a ningún estado de la lista" );
+        assertEquals( rondas * porRonda * ESCRITORES, concurrente.getCantidadEnteros( ), "Se perdieron enteros" );
+    }
+}
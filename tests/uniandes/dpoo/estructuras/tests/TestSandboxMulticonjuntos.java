@@ -0,0 +1,80 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.SandboxMulticonjuntos;
+
+class TestSandboxMulticonjuntos
+{
+    private SandboxMulticonjuntos vacio;
+
+    private SandboxMulticonjuntos sencillo;
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        vacio = new SandboxMulticonjuntos( );
+        sencillo = new SandboxMulticonjuntos( );
+        sencillo.reiniciarMulticonjunto( Arrays.asList( "c", "a", "b", "a", "c", "a", 7 ) );
+    }
+
+    @AfterEach
+    void reset( )
+    {
+        vacio = null;
+        sencillo = null;
+    }
+
+    @Test
+    void testNavegacion( )
+    {
+        assertNull( vacio.getPrimera( ), "La primera cadena de un multiconjunto vacío debería ser null" );
+        assertNull( vacio.getUltima( ), "La última cadena de un multiconjunto vacío debería ser null" );
+        assertNull( vacio.getMasFrecuente( ), "Un multiconjunto vacío no tiene cadena más frecuente" );
+
+        assertEquals( Arrays.asList( "7", "a", "b", "c" ), sencillo.getCadenasComoLista( ), "Las cadenas no están en orden" );
+        assertEquals( "7", sencillo.getPrimera( ), "La primera cadena no es la correcta" );
+        assertEquals( "c", sencillo.getUltima( ), "La última cadena no es la correcta" );
+        assertEquals( Arrays.asList( "b", "c" ), new ArrayList<>( sencillo.getSiguientes( "b" ) ), "Los siguientes no son correctos" );
+        assertEquals( 4, sencillo.getCantidadCadenasDiferentes( ), "La cantidad de cadenas diferentes no es correcta" );
+        assertEquals( 7, sencillo.getCantidadTotal( ), "La cantidad total no es correcta" );
+        assertEquals( "a", sencillo.getMasFrecuente( ), "La cadena más frecuente no es la correcta" );
+        assertTrue( sencillo.compararElementos( new String[]{ "a", "7" } ), "Todas las cadenas están en el multiconjunto" );
+        assertFalse( sencillo.compararElementos( new String[]{ "a", "d" } ), "La cadena d no está en el multiconjunto" );
+    }
+
+    @Test
+    void testConteos( )
+    {
+        assertEquals( 3, sencillo.contar( "a" ), "El conteo de a no es correcto" );
+        assertEquals( 0, sencillo.contar( "z" ), "Una cadena que no está debería tener conteo 0" );
+
+        assertEquals( 4, sencillo.agregarCadena( "a" ), "Agregar debería retornar el nuevo conteo" );
+        assertEquals( 1, sencillo.agregarCadena( "z" ), "Una cadena nueva debería quedar con conteo 1" );
+        assertEquals( 3, sencillo.eliminarCadena( "a" ), "Eliminar debería retornar el nuevo conteo" );
+        assertEquals( 0, sencillo.eliminarCadena( "z" ), "Eliminar la última vez debería dejar el conteo en 0" );
+        assertEquals( 0, sencillo.eliminarCadena( "z" ), "Eliminar una cadena que no está no debería fallar" );
+        assertEquals( "c", sencillo.getUltima( ), "Una cadena con conteo 0 no debería seguir en el multiconjunto" );
+
+        sencillo.eliminarPrimera( );
+        assertEquals( "a", sencillo.getPrimera( ), "Eliminar la primera debería quitar la única vez que estaba 7" );
+        sencillo.eliminarPrimera( );
+        assertEquals( 2, sencillo.contar( "a" ), "Eliminar la primera sólo debería quitarla una vez" );
+
+        assertEquals( 2, sencillo.eliminarTodas( "c" ), "Debería retornar cuántas veces estaba la cadena" );
+        assertEquals( Arrays.asList( "a", "b" ), sencillo.getCadenasComoLista( ), "La cadena debería haberse eliminado del todo" );
+
+        vacio.eliminarPrimera( );
+        assertEquals( 0, vacio.getCantidadTotal( ), "Eliminar la primera de un multiconjunto vacío no debería fallar" );
+    }
+}